@@ -0,0 +1,93 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwt;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import jumper.model.ConsumerTokenClaims;
+import jumper.util.ConsumerTokenClaimsExtractor;
+import jumper.util.OauthTokenUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading the consumer token claims with jjwt ({@link
+ * OauthTokenUtil#getAllClaimsFromToken}) against the streaming {@link
+ * ConsumerTokenClaimsExtractor}, for a Keycloak-like token. This is the cost of a claims cache
+ * miss.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConsumerTokenClaimsBenchmark {
+
+  private String jwt;
+  private String bearerToken;
+
+  @Setup
+  public void setUp() {
+    Instant now = Instant.now();
+    jwt =
+        Jwts.builder()
+            .id("4f1c2a9e-8d3b-4a6f-9c1e-2b7d5e8f0a13")
+            .issuer("https://iris.example.com/auth/realms/default")
+            .subject("7c0e5b7a-1f2d-4e3c-8b9a-6d5f4e3c2b1a")
+            .audience()
+            .add("stargate")
+            .and()
+            .issuedAt(Date.from(now))
+            // valid for the whole run, so jjwt never rejects it as expired
+            .expiration(Date.from(now.plusSeconds(24 * 3600)))
+            .claim("typ", "Bearer")
+            .claim("azp", "eni--hyperion--consumer")
+            .claim("session_state", "0f9e8d7c-6b5a-4c3d-2e1f-0a9b8c7d6e5f")
+            .claim("scope", "openid profile email")
+            .claim("clientId", "eni--hyperion--consumer")
+            .claim("clientHost", "10.0.0.1")
+            .claim("clientAddress", "10.0.0.1")
+            .claim("originZone", "aws")
+            .claim("originStargate", "https://stargate-playground.example.com")
+            .claim("realm_access", Map.of("roles", List.of("offline_access", "uma_authorization")))
+            .claim(
+                "resource_access",
+                Map.of("account", Map.of("roles", List.of("manage-account", "view-profile"))))
+            .signWith(Keys.hmacShaKeyFor(new byte[32]))
+            .compact();
+    bearerToken = "Bearer " + jwt;
+  }
+
+  @Benchmark
+  public Jwt<?, Claims> jjwtAllClaims() {
+    return OauthTokenUtil.getAllClaimsFromToken(bearerToken);
+  }
+
+  @Benchmark
+  public ConsumerTokenClaims jjwtToConsumerTokenClaims() {
+    return ConsumerTokenClaims.from(OauthTokenUtil.getAllClaimsFromToken(bearerToken).getPayload());
+  }
+
+  @Benchmark
+  public ConsumerTokenClaims extractor() {
+    return ConsumerTokenClaimsExtractor.extract(jwt);
+  }
+}
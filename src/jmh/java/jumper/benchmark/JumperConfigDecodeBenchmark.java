@@ -0,0 +1,134 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.benchmark;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jumper.model.config.JumperConfig;
+import jumper.model.config.LoadBalancing;
+import jumper.model.config.OauthCredentials;
+import jumper.model.config.RouteListener;
+import jumper.model.config.Server;
+import jumper.util.JumperConfigDecoder;
+import jumper.util.ObjectMapperUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Compares the former {@code JumperConfig.fromJsonBase64} implementation (String to byte[], Base64
+ * decode to byte[], platform-charset String, parse) with the streaming {@link JumperConfigDecoder}
+ * for realistic 2-8 KB {@code jumper_config} and {@code routing_config} headers. This is the cost
+ * of a config cache miss.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JumperConfigDecodeBenchmark {
+
+  private static final int ROUTING_CONFIG_ENTRIES = 3;
+
+  @Param({"2048", "4096", "8192"})
+  public int headerSize;
+
+  private ObjectMapper objectMapper;
+  private String jumperConfigHeader;
+  private String routingConfigHeader;
+
+  @Setup
+  public void setUp() {
+    objectMapper = JsonMapper.builder().build();
+    new ObjectMapperUtil(objectMapper);
+
+    jumperConfigHeader = JumperConfig.toJsonBase64(jumperConfigOfSize(headerSize));
+
+    List<JumperConfig> routingConfig = new ArrayList<>();
+    for (int i = 0; i < ROUTING_CONFIG_ENTRIES; i++) {
+      JumperConfig jc = jumperConfigOfSize(headerSize / ROUTING_CONFIG_ENTRIES);
+      jc.setTargetZoneName("zone-" + i);
+      routingConfig.add(jc);
+    }
+    routingConfigHeader = JumperConfig.toJsonBase64(routingConfig);
+  }
+
+  @Benchmark
+  public JumperConfig jumperConfigLegacy() {
+    return legacyDecode(jumperConfigHeader, new TypeReference<JumperConfig>() {});
+  }
+
+  @Benchmark
+  public JumperConfig jumperConfigStreaming() {
+    return JumperConfigDecoder.decodeJumperConfig(jumperConfigHeader);
+  }
+
+  @Benchmark
+  public List<JumperConfig> routingConfigLegacy() {
+    return legacyDecode(routingConfigHeader, new TypeReference<List<JumperConfig>>() {});
+  }
+
+  @Benchmark
+  public List<JumperConfig> routingConfigStreaming() {
+    return JumperConfigDecoder.decodeRoutingConfig(routingConfigHeader);
+  }
+
+  private <T> T legacyDecode(String header, TypeReference<T> typeReference) {
+    String decodedJson = new String(Base64.getDecoder().decode(header.getBytes()));
+    return objectMapper.readValue(decodedJson, typeReference);
+  }
+
+  /** Adds consumer specific oauth / listener entries until the encoded header reaches the size. */
+  private static JumperConfig jumperConfigOfSize(int targetHeaderSize) {
+    JumperConfig jc = new JumperConfig();
+    jc.setRemoteApiUrl("https://provider.example.com/api/v1");
+    jc.setApiBasePath("/eni/benchmark/v1");
+    jc.setRealmName("default");
+    jc.setEnvName("playground");
+    jc.setRemoveHeaders(List.of("x-internal-header", "x-debug"));
+
+    LoadBalancing loadBalancing = new LoadBalancing();
+    loadBalancing.setServers(
+        List.of(
+            new Server("https://provider-1.example.com/api/v1", 2.0),
+            new Server("https://provider-2.example.com/api/v1", 1.0)));
+    jc.setLoadBalancing(loadBalancing);
+
+    HashMap<String, OauthCredentials> oauth = new HashMap<>();
+    HashMap<String, RouteListener> routeListener = new HashMap<>();
+    jc.setOauth(oauth);
+    jc.setRouteListener(routeListener);
+
+    for (int i = 0; JumperConfig.toJsonBase64(jc).length() < targetHeaderSize; i++) {
+      OauthCredentials credentials = new OauthCredentials();
+      credentials.setClientId("benchmark-client-" + i);
+      credentials.setClientSecret("benchmark-secret-" + i + "-0123456789abcdef");
+      credentials.setScopes("openid profile scope-" + i);
+      credentials.setGrantType("client_credentials");
+      oauth.put("eni--benchmark-team--consumer-" + i, credentials);
+
+      RouteListener listener = new RouteListener();
+      listener.setIssue("issue-" + i);
+      listener.setServiceOwner("eni--benchmark-team--provider");
+      routeListener.put("eni--benchmark-team--consumer-" + i, listener);
+    }
+    return jc;
+  }
+}
@@ -0,0 +1,96 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jumper.model.config.LoadBalancing;
+import jumper.model.config.Server;
+import jumper.service.UpstreamLoadBalancer;
+import jumper.service.UpstreamLoadRegistry;
+import jumper.service.UpstreamOutlierDetector;
+import jumper.util.AliasTable;
+import jumper.util.LoadBalancingUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of picking the upstream of a {@code jc.loadBalancing} route with uneven weights: the linear
+ * scan of {@link LoadBalancingUtil#calculateUpstream(List)}, a pick from a prebuilt {@link
+ * AliasTable}, and {@link UpstreamLoadBalancer#chooseUpstream}, which adds the outlier check and
+ * takes the table kept with the server list. Runs with 4 threads, as picks happen concurrently on
+ * the event loops.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LoadBalancingBenchmark {
+
+  @Param({"2", "10", "100"})
+  public int servers;
+
+  private LoadBalancing loadBalancing;
+  private AliasTable aliasTable;
+  private UpstreamLoadBalancer upstreamLoadBalancer;
+
+  @Setup
+  public void setUp() {
+    List<Server> serverList = new ArrayList<>();
+    for (int i = 0; i < servers; i++) {
+      serverList.add(new Server("http://upstream-" + i + ".local", 1.0 + i % 7));
+    }
+    loadBalancing = new LoadBalancing();
+    loadBalancing.setServers(serverList);
+    aliasTable = AliasTable.of(serverList);
+
+    UpstreamOutlierDetector upstreamOutlierDetector =
+        new UpstreamOutlierDetector(
+            true,
+            5,
+            50,
+            20,
+            Duration.ofSeconds(10),
+            Duration.ofSeconds(30),
+            Duration.ofSeconds(300),
+            Duration.ofSeconds(30),
+            1000,
+            new SimpleMeterRegistry());
+    upstreamLoadBalancer =
+        new UpstreamLoadBalancer(
+            new UpstreamLoadRegistry(0.3, 1000), upstreamOutlierDetector, 1.25);
+  }
+
+  @Benchmark
+  public String linearScan() {
+    return LoadBalancingUtil.calculateUpstream(loadBalancing.getServers());
+  }
+
+  @Benchmark
+  public String aliasTable() {
+    return LoadBalancingUtil.calculateUpstream(aliasTable);
+  }
+
+  @Benchmark
+  public String chooseUpstream() {
+    return upstreamLoadBalancer.chooseUpstream(loadBalancing, null);
+  }
+}
@@ -0,0 +1,78 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.benchmark;
+
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.concurrent.TimeUnit;
+import jumper.model.config.KeyInfo;
+import jumper.service.KeyInfoService;
+import jumper.service.TokenGeneratorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Signing cost of a gateway token per JWS algorithm, i.e. per type of key mounted in {@code
+ * jumper.security.dir}. The publisher token is used because it is signed on every call, LMS tokens
+ * are served from a cache for repeated requests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SigningBenchmark {
+
+  @Param({"RS256", "ES256", "EdDSA"})
+  public String algorithm;
+
+  private TokenGeneratorService tokenGeneratorService;
+
+  @Setup
+  public void setUp() throws Exception {
+    KeyPairGenerator generator;
+    switch (algorithm) {
+      case "RS256" -> {
+        generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+      }
+      case "ES256" -> {
+        generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+      }
+      case "EdDSA" -> generator = KeyPairGenerator.getInstance("Ed25519");
+      default -> throw new IllegalArgumentException("Unknown algorithm " + algorithm);
+    }
+
+    KeyInfo keyInfo = new KeyInfo();
+    keyInfo.setPk(generator.generateKeyPair().getPrivate());
+    keyInfo.setKid("benchmark-kid");
+
+    KeyInfoService keyInfoService =
+        new KeyInfoService(null, null, null, false, null, null) {
+          @Override
+          public KeyInfo getKeyInfo() {
+            return keyInfo;
+          }
+        };
+    tokenGeneratorService = new TokenGeneratorService(keyInfoService);
+  }
+
+  @Benchmark
+  public String signGatewayToken() {
+    return tokenGeneratorService.generateGatewayTokenForPublisher(
+        "https://stargate.example.com/auth/realms/default", "default");
+  }
+}
@@ -100,6 +100,7 @@ public class Constants {
   public static final String TOKEN_CLAIM_AZP = "azp";
   public static final String TOKEN_CLAIM_EXP = "exp";
   public static final String TOKEN_CLAIM_IAT = "iat";
+  public static final String TOKEN_CLAIM_NBF = "nbf";
   public static final String TOKEN_CLAIM_OPERATION = "operation";
   public static final String TOKEN_CLAIM_REQUEST_PATH = "requestPath";
   public static final String TOKEN_CLAIM_ACCESS_TOKEN_ENVIRONMENT = "env";
@@ -20,5 +20,8 @@ public class CacheConfigProperties {
   public static class CaffeineCache {
     private List<String> cacheNames;
     private String spec;
+
+    /** Name of an {@code Expiry} bean for per-entry expiration, instead of expire* in the spec. */
+    private String expiry;
   }
 }
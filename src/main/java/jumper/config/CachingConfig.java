@@ -6,6 +6,13 @@ package jumper.config;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Map;
+import jumper.service.TokenGeneratorService;
+import jumper.util.OauthTokenUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.CacheManager;
@@ -14,12 +21,22 @@ import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Sets up the Spring managed Caffeine caches and binds them, as well as the caches kept outside
+ * the cache manager, to Micrometer ({@code cache.gets}, {@code cache.evictions}, ...).
+ */
 @Configuration
 @EnableCaching
 @RequiredArgsConstructor
 public class CachingConfig {
 
+  // same tag as Spring Boot's cache metrics, so both bindings resolve to the same meters
+  private static final String CACHE_MANAGER_TAG = "cache.manager";
+  private static final String CACHE_MANAGER_NAME = "caffeine";
+
   private final CacheConfigProperties cacheConfigProperties;
+  private final Map<String, Expiry<Object, Object>> expiries;
+  private final MeterRegistry meterRegistry;
 
   @Bean
   @Qualifier("caffeineCacheManager")
@@ -33,8 +50,31 @@ public class CachingConfig {
   private void createCaffeineCache(
       CaffeineCacheManager manager, CacheConfigProperties.CaffeineCache cfg) {
     for (String cacheName : cfg.getCacheNames()) {
-      Cache<Object, Object> cache = Caffeine.from(cfg.getSpec()).recordStats().build();
+      Caffeine<Object, Object> builder = Caffeine.from(cfg.getSpec()).recordStats();
+      if (cfg.getExpiry() != null) {
+        Expiry<Object, Object> expiry = expiries.get(cfg.getExpiry());
+        if (expiry == null) {
+          throw new IllegalStateException(
+              "Expiry '" + cfg.getExpiry() + "' of cache '" + cacheName + "' not found");
+        }
+        builder.expireAfter(expiry);
+      }
+      Cache<Object, Object> cache = builder.build();
+      monitor(meterRegistry, cache, cacheName);
       manager.registerCustomCache(cacheName, cache);
     }
   }
+
+  /** Binds the caches that live outside the cache manager. */
+  @Bean
+  public MeterBinder localCacheMetrics(TokenGeneratorService tokenGeneratorService) {
+    return registry -> {
+      monitor(registry, OauthTokenUtil.getConsumerTokenClaimsCache(), "cache-consumer-claims");
+      tokenGeneratorService.getCaches().forEach((name, cache) -> monitor(registry, cache, name));
+    };
+  }
+
+  public static void monitor(MeterRegistry registry, Cache<?, ?> cache, String cacheName) {
+    CaffeineCacheMetrics.monitor(registry, cache, cacheName, CACHE_MANAGER_TAG, CACHE_MANAGER_NAME);
+  }
 }
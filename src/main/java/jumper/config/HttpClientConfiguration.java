@@ -6,6 +6,8 @@ package jumper.config;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.netty.channel.ChannelOption;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslProvider;
@@ -16,6 +18,7 @@ import java.util.stream.Stream;
 import javax.net.ssl.SSLException;
 import javax.net.ssl.TrustManagerFactory;
 import javax.net.ssl.X509TrustManager;
+import jumper.model.config.UpstreamProtocol;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -51,14 +54,26 @@ public class HttpClientConfiguration {
   @Value("${jumper.ssl.certificate-validation-mode:warn}")
   private String certificateValidationMode;
 
+  @Value("${jumper.upstream.protocol:http1}")
+  private UpstreamProtocol upstreamProtocol;
+
   private final HttpClientProperties properties;
   private final TlsHardeningConfiguration tlsHardeningConfiguration;
   private final MeterRegistry meterRegistry;
+  private final OauthHostGuard oauthHostGuard;
+
+  @Bean
+  public HttpClientCustomizer httpClientCustomizer(
+      UpstreamProtocolConfigurer upstreamProtocolConfigurer) {
+    return httpClient -> upstreamProtocolConfigurer.configure(httpClient, upstreamProtocol);
+  }
 
   @Bean
-  public HttpClientCustomizer httpClientCustomizer() throws SSLException {
-    SslContext sslContext = createSslContextWithCustomizedCiphers();
-    return httpClient -> httpClient.secure(t -> t.sslContext(sslContext));
+  public UpstreamProtocolConfigurer upstreamProtocolConfigurer() throws SSLException {
+    return new UpstreamProtocolConfigurer(
+        upstreamProtocol,
+        createSslContextWithCustomizedCiphers(false),
+        createSslContextWithCustomizedCiphers(true));
   }
 
   @Bean("spectreServiceWebClient")
@@ -69,34 +84,48 @@ public class HttpClientConfiguration {
   @Bean("oauthTokenUtilWebClient")
   public WebClient createWebClientForOauthTokenUtil(WebClient.Builder webClientBuilder)
       throws SSLException {
-    SslContext sslContext = createSslContextWithCustomizedCiphers();
+    SslContext sslContext = createSslContextWithCustomizedCiphers(false);
     HttpClient httpClient =
         HttpClient.create(getProvider())
             .secure(t -> t.sslContext(sslContext))
             .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, oauthConnectTimeout);
     httpClient = configureProxy(httpClient);
 
-    return webClientBuilder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    return webClientBuilder
+        .clientConnector(new ReactorClientHttpConnector(httpClient))
+        .filter(oauthHostGuard)
+        .build();
   }
 
-  private SslContext createSslContextWithCustomizedCiphers() throws SSLException {
+  private SslContext createSslContextWithCustomizedCiphers(boolean http2) throws SSLException {
 
     if (tlsHardeningConfiguration.getDefaultAllowedCipherSuites() == null
         || tlsHardeningConfiguration.getDefaultAllowedCipherSuites().isEmpty()) {
       throw new SSLException("allowedCipherSuites must not be empty, check configuration");
     }
 
-    return SslContextBuilder.forClient()
-        .trustManager(createTrustManager())
-        .protocols("TLSv1.2", "TLSv1.3")
-        .sslProvider(SslProvider.JDK)
-        .ciphers(
-            Stream.concat(
-                    tlsHardeningConfiguration.getDefaultAllowedCipherSuites().stream(),
-                    tlsHardeningConfiguration.getAdditionalAllowedCipherSuites().stream())
-                .distinct()
-                .toList())
-        .build();
+    SslContextBuilder builder =
+        SslContextBuilder.forClient()
+            .trustManager(createTrustManager())
+            .protocols("TLSv1.2", "TLSv1.3")
+            .sslProvider(SslProvider.JDK)
+            .ciphers(
+                Stream.concat(
+                        tlsHardeningConfiguration.getDefaultAllowedCipherSuites().stream(),
+                        tlsHardeningConfiguration.getAdditionalAllowedCipherSuites().stream())
+                    .distinct()
+                    .toList());
+    if (http2) {
+      // let the upstream choose h2 by ALPN, it falls back to HTTP/1.1 if it doesn't
+      builder.applicationProtocolConfig(
+          new ApplicationProtocolConfig(
+              ApplicationProtocolConfig.Protocol.ALPN,
+              ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+              ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+              ApplicationProtocolNames.HTTP_2,
+              ApplicationProtocolNames.HTTP_1_1));
+    }
+    return builder.build();
   }
 
   /**
@@ -170,12 +199,13 @@ public class HttpClientConfiguration {
     return builder;
   }
 
+  // reactor-netty keeps one pool per remote address, so these limits apply per token endpoint host
   private ConnectionProvider getProvider() {
     return ConnectionProvider.builder("oauth")
-        .maxConnections(100)
+        .maxConnections(oauthHostGuard.getMaxConnections())
         .maxIdleTime(Duration.ofSeconds(oauthPoolMaxIdleTime))
         .maxLifeTime(Duration.ofSeconds(oauthPoolMaxLifeTime))
-        .pendingAcquireMaxCount(-1)
+        .pendingAcquireMaxCount(oauthHostGuard.getMaxPending())
         .metrics(oauthPoolMetrics)
         .build();
   }
@@ -0,0 +1,383 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Partitions the {@code oauth} client per token endpoint host, so a slow or failing IdP can't hold
+ * up token requests to the others.
+ *
+ * <ul>
+ *   <li>Bulkhead: reactor-netty keeps a connection pool per remote address, bounded to {@code
+ *       maxConnections} connections and {@code maxPending} waiting requests. Requests beyond that
+ *       are rejected with 503 up front.
+ *   <li>Circuit breaker: once {@code failureRateThreshold} percent of the last {@code
+ *       slidingWindowSize} calls to a host failed (5xx, connect errors, timeouts), requests to it
+ *       fail fast with 503 for {@code openDuration}. Then a single probe request decides whether
+ *       the circuit closes again.
+ * </ul>
+ *
+ * <p>Per host gauges: {@code jumper.oauth.host.active} and {@code .pending} token requests, holding
+ * or waiting for a connection, and {@code .circuit.state} (0 closed, 1 open, 2 half open). The
+ * pool's own {@code reactor.netty.connection.provider.*} metrics stay enabled next to them. Only
+ * the first {@code maxHostTags} hosts get their own tag value, further hosts are summed up as
+ * {@value #OTHER_HOST}, whose circuit state is 1 while any of their circuits is not closed. Hosts
+ * without token requests for {@code hostIdleTimeout} are dropped together with their gauges.
+ */
+@Component
+@Slf4j
+public class OauthHostGuard implements ExchangeFilterFunction {
+
+  private static final String METRIC_PREFIX = "jumper.oauth.host";
+  private static final String TAG_HOST = "host";
+  static final String OTHER_HOST = "other";
+  // bounds the per host state if a tenant configures lots of token endpoints
+  private static final int MAX_PARTITIONS = 10_000;
+
+  @Getter private final int maxConnections;
+  @Getter private final int maxPending;
+  private final boolean circuitBreakerEnabled;
+  private final int failureRateThreshold;
+  private final int slidingWindowSize;
+  private final int minimumCalls;
+  private final Duration openDuration;
+  private final int maxHostTags;
+  private final MeterRegistry meterRegistry;
+
+  private final Cache<String, HostPartition> partitions;
+  private final Set<String> taggedHosts = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean otherHostMetricsRegistered = new AtomicBoolean();
+
+  @Autowired
+  public OauthHostGuard(
+      @Value("${spring.cloud.oauth.pool.max-connections:100}") int maxConnections,
+      @Value("${spring.cloud.oauth.pool.max-pending:100}") int maxPending,
+      @Value("${spring.cloud.oauth.circuit-breaker.enabled:true}") boolean circuitBreakerEnabled,
+      @Value("${spring.cloud.oauth.circuit-breaker.failure-rate-threshold:50}")
+          int failureRateThreshold,
+      @Value("${spring.cloud.oauth.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+      @Value("${spring.cloud.oauth.circuit-breaker.minimum-calls:10}") int minimumCalls,
+      @Value("${spring.cloud.oauth.circuit-breaker.open-duration:30s}") Duration openDuration,
+      @Value("${spring.cloud.oauth.host-idle-timeout:1h}") Duration hostIdleTimeout,
+      @Value("${jumper.metrics.maxHostTags:50}") int maxHostTags,
+      MeterRegistry meterRegistry) {
+    this(
+        maxConnections,
+        maxPending,
+        circuitBreakerEnabled,
+        failureRateThreshold,
+        slidingWindowSize,
+        minimumCalls,
+        openDuration,
+        hostIdleTimeout,
+        maxHostTags,
+        meterRegistry,
+        Ticker.systemTicker());
+  }
+
+  OauthHostGuard(
+      int maxConnections,
+      int maxPending,
+      boolean circuitBreakerEnabled,
+      int failureRateThreshold,
+      int slidingWindowSize,
+      int minimumCalls,
+      Duration openDuration,
+      Duration hostIdleTimeout,
+      int maxHostTags,
+      MeterRegistry meterRegistry,
+      Ticker ticker) {
+    this.maxConnections = maxConnections;
+    this.maxPending = maxPending;
+    this.circuitBreakerEnabled = circuitBreakerEnabled;
+    this.failureRateThreshold = failureRateThreshold;
+    this.slidingWindowSize = slidingWindowSize;
+    this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+    this.openDuration = openDuration;
+    this.maxHostTags = maxHostTags;
+    this.meterRegistry = meterRegistry;
+    this.partitions =
+        Caffeine.newBuilder()
+            .maximumSize(MAX_PARTITIONS)
+            .expireAfterAccess(hostIdleTimeout)
+            .ticker(ticker)
+            .executor(Runnable::run)
+            .<String, HostPartition>removalListener(
+                (host, partition, cause) -> removePartitionMetrics(partition))
+            .build();
+  }
+
+  @Override
+  public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+    return Mono.defer(
+        () -> {
+          String host = hostOf(request.url());
+          HostPartition partition = partitions.get(host, this::createPartition);
+
+          Permission permission = partition.circuitBreaker.tryAcquirePermission();
+          if (permission == Permission.DENIED) {
+            return Mono.error(
+                new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    "Token endpoint host " + host + " is failing, circuit open"));
+          }
+          if (partition.inFlight.incrementAndGet() > maxConnections + maxPending) {
+            partition.inFlight.decrementAndGet();
+            partition.circuitBreaker.release(permission);
+            return Mono.error(
+                new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many pending token requests to " + host));
+          }
+
+          // a request cancelled before its response, e.g. by a timeout, counts as failed
+          AtomicBoolean recorded = new AtomicBoolean();
+          return next.exchange(request)
+              .doOnNext(
+                  response -> {
+                    recorded.set(true);
+                    partition.circuitBreaker.record(
+                        permission, !response.statusCode().is5xxServerError());
+                  })
+              .doFinally(
+                  signal -> {
+                    partition.inFlight.decrementAndGet();
+                    if (recorded.compareAndSet(false, true)) {
+                      partition.circuitBreaker.record(permission, false);
+                    }
+                  });
+        });
+  }
+
+  CircuitState getCircuitState(String host) {
+    HostPartition partition = partitions.getIfPresent(host);
+    return partition != null ? partition.circuitBreaker.getState() : CircuitState.CLOSED;
+  }
+
+  void cleanUp() {
+    partitions.cleanUp();
+  }
+
+  private HostPartition createPartition(String host) {
+    HostPartition partition = new HostPartition(host, new CircuitBreaker(host));
+    // may admit a few hosts more than maxHostTags under contention, which is fine
+    if (taggedHosts.size() < maxHostTags && taggedHosts.add(host)) {
+      partition.meters.addAll(
+          registerMetrics(
+              host,
+              () -> Math.min(partition.inFlight.get(), maxConnections),
+              () -> Math.max(partition.inFlight.get() - maxConnections, 0),
+              () -> partition.circuitBreaker.getState().ordinal()));
+    } else if (otherHostMetricsRegistered.compareAndSet(false, true)) {
+      registerMetrics(
+          OTHER_HOST,
+          () -> sumOverOtherHosts(p -> Math.min(p.inFlight.get(), maxConnections)),
+          () -> sumOverOtherHosts(p -> Math.max(p.inFlight.get() - maxConnections, 0)),
+          () -> Math.min(sumOverOtherHosts(p -> p.circuitBreaker.isClosed() ? 0 : 1), 1));
+    }
+    return partition;
+  }
+
+  // a token request holds a pooled connection, beyond maxConnections it waits for one
+  private List<Meter> registerMetrics(
+      String hostTag, IntSupplier active, IntSupplier pending, IntSupplier circuitState) {
+    return List.of(
+        Gauge.builder(METRIC_PREFIX + ".active", active::getAsInt)
+            .description("Token requests to the token endpoint host holding a connection")
+            .tag(TAG_HOST, hostTag)
+            .register(meterRegistry),
+        Gauge.builder(METRIC_PREFIX + ".pending", pending::getAsInt)
+            .description("Token requests waiting for a connection to the token endpoint host")
+            .tag(TAG_HOST, hostTag)
+            .register(meterRegistry),
+        Gauge.builder(METRIC_PREFIX + ".circuit.state", circuitState::getAsInt)
+            .description(
+                "Circuit state of the token endpoint host: 0 closed, 1 open, 2 half open")
+            .tag(TAG_HOST, hostTag)
+            .register(meterRegistry));
+  }
+
+  private int sumOverOtherHosts(ToIntFunction<HostPartition> value) {
+    int sum = 0;
+    for (HostPartition partition : partitions.asMap().values()) {
+      if (partition.meters.isEmpty()) {
+        sum += value.applyAsInt(partition);
+      }
+    }
+    return sum;
+  }
+
+  private void removePartitionMetrics(HostPartition partition) {
+    if (partition == null || partition.meters.isEmpty()) {
+      return;
+    }
+    partition.meters.forEach(meterRegistry::remove);
+    taggedHosts.remove(partition.host);
+  }
+
+  static String hostOf(URI uri) {
+    int port = uri.getPort();
+    if (port == -1) {
+      port = "http".equalsIgnoreCase(uri.getScheme()) ? 80 : 443;
+    }
+    return uri.getHost() + ":" + port;
+  }
+
+  enum CircuitState {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private enum Permission {
+    DENIED,
+    CALL,
+    PROBE
+  }
+
+  /** Per host state, {@code meters} is empty for a host reported as {@value #OTHER_HOST}. */
+  private record HostPartition(
+      String host, CircuitBreaker circuitBreaker, AtomicInteger inFlight, List<Meter> meters) {
+
+    HostPartition(String host, CircuitBreaker circuitBreaker) {
+      this(host, circuitBreaker, new AtomicInteger(), new CopyOnWriteArrayList<>());
+    }
+  }
+
+  /** Count based circuit breaker over the outcomes of the last {@code slidingWindowSize} calls. */
+  private final class CircuitBreaker {
+
+    private final String host;
+    private final boolean[] failedCalls = new boolean[slidingWindowSize];
+    private int nextIndex;
+    private int calls;
+    private int failures;
+    private CircuitState state = CircuitState.CLOSED;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+
+    private CircuitBreaker(String host) {
+      this.host = host;
+    }
+
+    synchronized CircuitState getState() {
+      return state;
+    }
+
+    synchronized boolean isClosed() {
+      return state == CircuitState.CLOSED;
+    }
+
+    synchronized Permission tryAcquirePermission() {
+      if (!circuitBreakerEnabled) {
+        return Permission.CALL;
+      }
+      switch (state) {
+        case CLOSED:
+          return Permission.CALL;
+        case OPEN:
+          if (System.nanoTime() - openedAtNanos < openDuration.toNanos()) {
+            return Permission.DENIED;
+          }
+          state = CircuitState.HALF_OPEN;
+          probeInFlight = false;
+          log.info("Circuit for token endpoint host {} half open, probing", host);
+          // fall through
+        case HALF_OPEN:
+        default:
+          if (probeInFlight) {
+            return Permission.DENIED;
+          }
+          probeInFlight = true;
+          return Permission.PROBE;
+      }
+    }
+
+    synchronized void release(Permission permission) {
+      if (permission == Permission.PROBE) {
+        probeInFlight = false;
+      }
+    }
+
+    synchronized void record(Permission permission, boolean success) {
+      if (!circuitBreakerEnabled) {
+        return;
+      }
+      if (permission == Permission.PROBE) {
+        probeInFlight = false;
+        if (success) {
+          close();
+        } else {
+          open();
+        }
+        return;
+      }
+      // late outcomes of calls started before the circuit opened don't count
+      if (state != CircuitState.CLOSED) {
+        return;
+      }
+      if (calls == failedCalls.length) {
+        if (failedCalls[nextIndex]) {
+          failures--;
+        }
+      } else {
+        calls++;
+      }
+      failedCalls[nextIndex] = !success;
+      if (!success) {
+        failures++;
+      }
+      nextIndex = (nextIndex + 1) % failedCalls.length;
+
+      if (calls >= minimumCalls && failures * 100 >= failureRateThreshold * calls) {
+        open();
+      }
+    }
+
+    private void open() {
+      log.warn("Circuit for token endpoint host {} open for {}s", host, openDuration.toSeconds());
+      state = CircuitState.OPEN;
+      openedAtNanos = System.nanoTime();
+    }
+
+    private void close() {
+      log.info("Circuit for token endpoint host {} closed", host);
+      state = CircuitState.CLOSED;
+      calls = 0;
+      failures = 0;
+      nextIndex = 0;
+      Arrays.fill(failedCalls, false);
+    }
+  }
+}
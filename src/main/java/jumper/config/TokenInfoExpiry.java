@@ -0,0 +1,51 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.config;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import jumper.model.TokenInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Expires a cached {@link TokenInfo} {@code ttlOffset} seconds before the token itself expires, so
+ * a token taken from the cache is always valid for at least that long. Tokens without {@code
+ * expires_in} are kept for the configured maximum.
+ */
+@Component("tokenInfoExpiry")
+public class TokenInfoExpiry implements Expiry<Object, Object> {
+
+  private final long ttlOffsetMillis;
+  private final long maxLifetimeNanos;
+
+  public TokenInfoExpiry(
+      @Value("${jumper.tokencache.ttlOffset}") int ttlOffset,
+      @Value("${jumper.tokencache.expireAfterWriteMinutes:30}") int maxLifetimeMinutes) {
+    this.ttlOffsetMillis = TimeUnit.SECONDS.toMillis(ttlOffset);
+    this.maxLifetimeNanos = Duration.ofMinutes(maxLifetimeMinutes).toNanos();
+  }
+
+  @Override
+  public long expireAfterCreate(Object key, Object value, long currentTime) {
+    if (value instanceof TokenInfo tokenInfo && tokenInfo.getExpiration() != null) {
+      long millisUntilExpiration =
+          tokenInfo.getExpiration().getTime() - System.currentTimeMillis() - ttlOffsetMillis;
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisUntilExpiration));
+    }
+    return maxLifetimeNanos;
+  }
+
+  @Override
+  public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+    return expireAfterCreate(key, value, currentTime);
+  }
+
+  @Override
+  public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+    return currentDuration;
+  }
+}
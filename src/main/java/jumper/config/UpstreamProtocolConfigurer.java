@@ -0,0 +1,45 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.config;
+
+import io.netty.handler.ssl.SslContext;
+import jumper.model.config.UpstreamProtocol;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Configures an upstream HttpClient for an {@link UpstreamProtocol}. reactor-netty pools
+ * connections per protocol, HTTP/2 ones multiplex requests as streams.
+ *
+ * <p>h2c uses prior knowledge rather than the HTTP/1.1 upgrade, which doesn't work for requests
+ * with a body on many servers. An h2c client can't do TLS, see {@link #effectiveProtocol}.
+ */
+@RequiredArgsConstructor
+public class UpstreamProtocolConfigurer {
+
+  @Getter private final UpstreamProtocol defaultProtocol;
+  private final SslContext sslContext;
+  // offers h2 and http/1.1 by ALPN
+  private final SslContext http2SslContext;
+
+  public HttpClient configure(HttpClient httpClient, UpstreamProtocol protocol) {
+    return switch (protocol) {
+      case HTTP1 ->
+          httpClient.protocol(HttpProtocol.HTTP11).secure(t -> t.sslContext(sslContext));
+      case H2 ->
+          httpClient
+              .protocol(HttpProtocol.HTTP11, HttpProtocol.H2)
+              .secure(t -> t.sslContext(http2SslContext));
+      case H2C -> httpClient.protocol(HttpProtocol.H2C);
+    };
+  }
+
+  /** The protocol to route a request with, h2 for https upstreams of h2c routes. */
+  public static UpstreamProtocol effectiveProtocol(UpstreamProtocol protocol, boolean secure) {
+    return protocol == UpstreamProtocol.H2C && secure ? UpstreamProtocol.H2 : protocol;
+  }
+}
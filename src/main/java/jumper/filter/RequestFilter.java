@@ -28,6 +28,7 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
 import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
@@ -35,6 +36,7 @@ import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
 
 @Component
 @Slf4j
@@ -44,6 +46,7 @@ public class RequestFilter extends AbstractGatewayFilterFactory<RequestFilter.Co
   private final Tracer tracer;
   private final TokenGeneratorService tokenGeneratorService;
   private final JumperConfigService jumperConfigService;
+  private final SigningScheduler signingScheduler;
 
   @Value("${jumper.issuer.url}")
   private String localIssuerUrl;
@@ -60,11 +63,13 @@ public class RequestFilter extends AbstractGatewayFilterFactory<RequestFilter.Co
   public RequestFilter(
       Tracer tracer,
       TokenGeneratorService tokenGeneratorService,
-      JumperConfigService jumperConfigService) {
+      JumperConfigService jumperConfigService,
+      SigningScheduler signingScheduler) {
     super(Config.class);
     this.tracer = tracer;
     this.tokenGeneratorService = tokenGeneratorService;
     this.jumperConfigService = jumperConfigService;
+    this.signingScheduler = signingScheduler;
   }
 
   @Override
@@ -85,10 +90,8 @@ public class RequestFilter extends AbstractGatewayFilterFactory<RequestFilter.Co
           URI finalApiUri =
               calculateFinalApiUri(readOnlyRequest, config.getRoutePathPrefix(), jumperConfig);
 
-          // ListenerRoute was called, jumperConfig is stored in exchange for usage with Spectre
-          if (config.getRoutePathPrefix().equals(Constants.LISTENER_ROOT_PATH_PREFIX)) {
-            ExchangeStateManager.setJumperConfig(exchange, jumperConfig);
-          }
+          // resolved once per exchange, reused by UpstreamOAuthFilter and the Spectre filters
+          ExchangeStateManager.setJumperConfig(exchange, jumperConfig);
 
           if (jumperConfig.getSecondaryFailover()) {
             // write audit log if needed
@@ -103,6 +106,7 @@ public class RequestFilter extends AbstractGatewayFilterFactory<RequestFilter.Co
 
           // handle request
           Optional<JumperInfoRequest> jumperInfoRequest = initializeJumperInfoRequest();
+          Mono<String> lastMileSecurityToken = null;
 
           if (!jumperConfig.getRemoteApiUrl().startsWith(Constants.LOCALHOST_ISSUER_SERVICE)) {
 
@@ -162,70 +166,105 @@ public class RequestFilter extends AbstractGatewayFilterFactory<RequestFilter.Co
                     jumperInfoRequest.ifPresent(
                         i -> i.setInfoScenario(true, true, false, false, false, false));
 
-                    String enhancedLastmileSecurityToken =
-                        tokenGeneratorService.generateProviderLmsToken(
-                            jumperConfig,
-                            String.valueOf(readOnlyRequest.getMethod()),
-                            localIssuerUrl + "/" + jumperConfig.getRealmName(),
-                            HeaderUtil.getLastValueFromHeaderField(
-                                readOnlyRequest, Constants.HEADER_X_PUBSUB_PUBLISHER_ID),
-                            HeaderUtil.getLastValueFromHeaderField(
-                                readOnlyRequest, Constants.HEADER_X_PUBSUB_SUBSCRIBER_ID));
-
-                    HeaderUtil.addHeader(
-                        requestMutationBuilder,
-                        Constants.HEADER_AUTHORIZATION,
-                        Constants.BEARER + " " + enhancedLastmileSecurityToken);
-                    log.debug("lastMileSecurityToken: " + enhancedLastmileSecurityToken);
+                    String operation = String.valueOf(readOnlyRequest.getMethod());
+                    String issuer = localIssuerUrl + "/" + jumperConfig.getRealmName();
+                    String publisherId =
+                        HeaderUtil.getLastValueFromHeaderField(
+                            readOnlyRequest, Constants.HEADER_X_PUBSUB_PUBLISHER_ID);
+                    String subscriberId =
+                        HeaderUtil.getLastValueFromHeaderField(
+                            readOnlyRequest, Constants.HEADER_X_PUBSUB_SUBSCRIBER_ID);
+                    // a cached token is used right away, only a miss is signed off the event loop
+                    // and the request resumes there once the token is ready
+                    lastMileSecurityToken =
+                        signingScheduler.signUnlessCached(
+                            () ->
+                                tokenGeneratorService.findCachedProviderLmsToken(
+                                    jumperConfig, operation, issuer, publisherId, subscriberId),
+                            () ->
+                                tokenGeneratorService.generateProviderLmsToken(
+                                    jumperConfig, operation, issuer, publisherId, subscriberId),
+                            SigningScheduler.eventLoopOf(exchange));
                   }
                 }
               }
             }
           }
 
-          HeaderUtil.addHeader(
-              requestMutationBuilder,
-              Constants.HEADER_X_ORIGIN_STARGATE,
-              jumperConfig.getConsumerOriginStargate());
-          HeaderUtil.addHeader(
+          if (Objects.nonNull(lastMileSecurityToken)) {
+            return lastMileSecurityToken.flatMap(
+                enhancedLastmileSecurityToken -> {
+                  HeaderUtil.addHeader(
+                      requestMutationBuilder,
+                      Constants.HEADER_AUTHORIZATION,
+                      Constants.BEARER + " " + enhancedLastmileSecurityToken);
+                  log.debug("lastMileSecurityToken: " + enhancedLastmileSecurityToken);
+                  return forwardRequest(
+                      exchange,
+                      chain,
+                      requestMutationBuilder,
+                      jumperConfig,
+                      jumperInfoRequest,
+                      finalApiUri);
+                });
+          }
+          return forwardRequest(
+              exchange,
+              chain,
               requestMutationBuilder,
-              Constants.HEADER_X_ORIGIN_ZONE,
-              jumperConfig.getConsumerOriginZone());
-          HeaderUtil.rewriteXForwardedHeader(requestMutationBuilder, jumperConfig);
-
-          jumperInfoRequest.ifPresent(
-              infoRequest -> {
-                IncomingRequest incReq = createIncomingRequest(jumperConfig, readOnlyRequest);
-                infoRequest.setIncomingRequest(incReq);
-                log.atInfo()
-                    .setMessage("logging request:")
-                    .addKeyValue("jumperInfo", infoRequest)
-                    .log();
-              });
-
-          HeaderUtil.removeHeaders(requestMutationBuilder, jumperConfig.getRemoveHeaders());
-          tracer.currentSpan().event("jrqf");
-
-          // store final destination url to exchange
-          log.debug("Routing set to: " + finalApiUri);
-          requestMutationBuilder.uri(finalApiUri);
-          ServerHttpRequest finalRequest = requestMutationBuilder.build();
-          exchange
-              .getAttributes()
-              .put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, finalApiUri);
-
-          ServerWebExchange finalExchange = exchange.mutate().request(finalRequest).build();
-          log.debug("final RequestFilter uri: {}", finalExchange.getRequest().getURI());
-          var gatewayRequestUrl =
-              finalExchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
-          log.debug(
-              "final exchange attribute GatewayRequestUrlAttr: {}",
-              gatewayRequestUrl != null ? gatewayRequestUrl.toString() : "null");
-          return chain.filter(finalExchange);
+              jumperConfig,
+              jumperInfoRequest,
+              finalApiUri);
         },
         RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 1);
   }
 
+  /** Adds the common headers and hands the request with its final destination to the chain. */
+  private Mono<Void> forwardRequest(
+      ServerWebExchange exchange,
+      GatewayFilterChain chain,
+      ServerHttpRequest.Builder requestMutationBuilder,
+      JumperConfig jumperConfig,
+      Optional<JumperInfoRequest> jumperInfoRequest,
+      URI finalApiUri) {
+    ServerHttpRequest readOnlyRequest = exchange.getRequest();
+
+    HeaderUtil.addHeader(
+        requestMutationBuilder,
+        Constants.HEADER_X_ORIGIN_STARGATE,
+        jumperConfig.getConsumerOriginStargate());
+    HeaderUtil.addHeader(
+        requestMutationBuilder,
+        Constants.HEADER_X_ORIGIN_ZONE,
+        jumperConfig.getConsumerOriginZone());
+    HeaderUtil.rewriteXForwardedHeader(requestMutationBuilder, jumperConfig);
+
+    jumperInfoRequest.ifPresent(
+        infoRequest -> {
+          IncomingRequest incReq = createIncomingRequest(jumperConfig, readOnlyRequest);
+          infoRequest.setIncomingRequest(incReq);
+          log.atInfo().setMessage("logging request:").addKeyValue("jumperInfo", infoRequest).log();
+        });
+
+    HeaderUtil.removeHeaders(requestMutationBuilder, jumperConfig.getRemoveHeaders());
+    tracer.currentSpan().event("jrqf");
+
+    // store final destination url to exchange
+    log.debug("Routing set to: " + finalApiUri);
+    requestMutationBuilder.uri(finalApiUri);
+    ServerHttpRequest finalRequest = requestMutationBuilder.build();
+    exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, finalApiUri);
+
+    ServerWebExchange finalExchange = exchange.mutate().request(finalRequest).build();
+    log.debug("final RequestFilter uri: {}", finalExchange.getRequest().getURI());
+    var gatewayRequestUrl =
+        finalExchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+    log.debug(
+        "final exchange attribute GatewayRequestUrlAttr: {}",
+        gatewayRequestUrl != null ? gatewayRequestUrl.toString() : "null");
+    return chain.filter(finalExchange);
+  }
+
   private Optional<JumperInfoRequest> initializeJumperInfoRequest() {
 
     if (log.isDebugEnabled()) {
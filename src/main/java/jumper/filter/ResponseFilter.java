@@ -8,9 +8,11 @@ import io.micrometer.tracing.Span;
 import io.micrometer.tracing.Tracer;
 import java.util.Objects;
 import jumper.Constants;
+import jumper.model.TokenCacheKey;
 import jumper.model.response.IncomingResponse;
 import jumper.model.response.JumperInfoResponse;
 import jumper.service.TokenCacheService;
+import jumper.service.TokenMetrics;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -30,11 +32,14 @@ public class ResponseFilter extends AbstractGatewayFilterFactory<ResponseFilter.
 
   private final Tracer tracer;
   private final TokenCacheService tokenCacheService;
+  private final TokenMetrics tokenMetrics;
 
-  public ResponseFilter(Tracer tracer, TokenCacheService tokenCacheService) {
+  public ResponseFilter(
+      Tracer tracer, TokenCacheService tokenCacheService, TokenMetrics tokenMetrics) {
     super(Config.class);
     this.tracer = tracer;
     this.tokenCacheService = tokenCacheService;
+    this.tokenMetrics = tokenMetrics;
   }
 
   @Override
@@ -56,13 +61,14 @@ public class ResponseFilter extends AbstractGatewayFilterFactory<ResponseFilter.
                       if (statusCode != null
                           && (statusCode.isSameCodeAs(HttpStatusCode.valueOf(401))
                               || statusCode.isSameCodeAs(HttpStatusCode.valueOf(403)))) {
-                        String tokenCacheKey =
+                        TokenCacheKey tokenCacheKey =
                             exchange.getAttribute(Constants.GATEWAY_ATTRIBUTE_TOKEN_CACHE_KEY);
                         if (tokenCacheKey != null) {
                           log.debug(
                               "Received {} response, evicting token from cache",
                               statusCode.value());
                           tokenCacheService.evictToken(tokenCacheKey);
+                          tokenMetrics.recordEviction(tokenCacheKey, statusCode.value());
                         }
                       }
 
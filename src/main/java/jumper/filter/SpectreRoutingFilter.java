@@ -39,7 +39,9 @@ public class SpectreRoutingFilter extends SetRequestHeaderGatewayFilterFactory {
       String envName = Constants.DEFAULT_REALM;
       if (Objects.nonNull(consumerToken)) {
         envName =
-            OauthTokenUtil.getClaimFromToken(consumerToken, "iss").replaceFirst(".*realms/", "");
+            OauthTokenUtil.getConsumerTokenClaims(consumerToken)
+                .issuer()
+                .replaceFirst(".*realms/", "");
       }
 
       // minimalistic token with correct issuer
@@ -7,11 +7,11 @@ package jumper.filter;
 import java.util.Objects;
 import java.util.Optional;
 import jumper.Constants;
+import jumper.model.TokenCacheKey;
 import jumper.model.TokenInfo;
 import jumper.model.config.JumperConfig;
 import jumper.model.config.OauthCredentials;
-import jumper.service.JumperConfigService;
-import jumper.service.TokenCacheService;
+import jumper.service.SigningScheduler;
 import jumper.service.TokenFetchService;
 import jumper.service.TokenGeneratorService;
 import jumper.util.ExchangeStateManager;
@@ -29,7 +29,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 @Component
 @Slf4j
@@ -40,8 +39,7 @@ public class UpstreamOAuthFilter extends AbstractGatewayFilterFactory<UpstreamOA
 
   private final TokenFetchService tokenFetchService;
   private final TokenGeneratorService tokenGeneratorService;
-  private final JumperConfigService jumperConfigService;
-  private final TokenCacheService tokenCacheService;
+  private final SigningScheduler signingScheduler;
 
   @Value("${jumper.issuer.url}")
   private String localIssuerUrl;
@@ -49,13 +47,11 @@ public class UpstreamOAuthFilter extends AbstractGatewayFilterFactory<UpstreamOA
   public UpstreamOAuthFilter(
       TokenFetchService tokenFetchService,
       TokenGeneratorService tokenGeneratorService,
-      JumperConfigService jumperConfigService,
-      TokenCacheService tokenCacheService) {
+      SigningScheduler signingScheduler) {
     super(Config.class);
     this.tokenFetchService = tokenFetchService;
     this.tokenGeneratorService = tokenGeneratorService;
-    this.jumperConfigService = jumperConfigService;
-    this.tokenCacheService = tokenCacheService;
+    this.signingScheduler = signingScheduler;
   }
 
   @Override
@@ -71,8 +67,15 @@ public class UpstreamOAuthFilter extends AbstractGatewayFilterFactory<UpstreamOA
           }
 
           log.debug("continue with UpstreamOAuthFilter");
+          // reuse the config resolved by RequestFilter, re-resolving would repeat the header and
+          // token parsing as well as the load-balancing pick
           JumperConfig jumperConfig =
-              jumperConfigService.resolveJumperConfig(exchange.getRequest());
+              ExchangeStateManager.getJumperConfig(exchange)
+                  .orElseThrow(
+                      () ->
+                          new ResponseStatusException(
+                              HttpStatus.INTERNAL_SERVER_ERROR,
+                              "JumperConfig not resolved for exchange"));
           log.debug("JumperConfig: {}", jumperConfig);
 
           ServerHttpRequest.Builder requestBuilder = readOnlyRequest.mutate();
@@ -119,16 +122,19 @@ public class UpstreamOAuthFilter extends AbstractGatewayFilterFactory<UpstreamOA
       log.debug("----------------GATEWAY MESH LMS-------------");
       String realmName =
           Objects.requireNonNullElse(jumperConfig.getRealmName(), Constants.DEFAULT_REALM);
-      return Mono.fromCallable(
-              () -> {
-                String meshLmsToken =
-                    tokenGeneratorService.generateMeshLmsToken(
-                        jumperConfig, request.getMethod().name(), localIssuerUrl + "/" + realmName);
+      String operation = request.getMethod().name();
+      String issuer = localIssuerUrl + "/" + realmName;
+      return signingScheduler
+          .signUnlessCached(
+              () -> tokenGeneratorService.findCachedMeshLmsToken(jumperConfig, operation, issuer),
+              () -> tokenGeneratorService.generateMeshLmsToken(jumperConfig, operation, issuer),
+              SigningScheduler.eventLoopOf(exchange))
+          .map(
+              meshLmsToken -> {
                 TokenInfo tokenInfo = new TokenInfo();
                 tokenInfo.setAccessToken(meshLmsToken);
                 return tokenInfo;
               })
-          .subscribeOn(Schedulers.parallel())
           .doOnError(e -> log.error("Failed to generate mesh LMS token", e))
           .onErrorMap(
               e -> !(e instanceof ResponseStatusException),
@@ -150,13 +156,12 @@ public class UpstreamOAuthFilter extends AbstractGatewayFilterFactory<UpstreamOA
         // Use OAuth credentials with explicit grant type (modern approach)
         log.debug("fetching token with OauthCredentials");
         // Store token cache key in exchange for 4xx-based eviction
-        String tokenCacheKey =
-            tokenCacheService.generateTokenCacheKey(
-                jumperConfig.getExternalTokenEndpoint(), oauthCredentials.get());
+        TokenCacheKey tokenCacheKey =
+            TokenCacheKey.of(jumperConfig.getExternalTokenEndpoint(), oauthCredentials.get());
         exchange.getAttributes().put(Constants.GATEWAY_ATTRIBUTE_TOKEN_CACHE_KEY, tokenCacheKey);
         tokenMono =
             tokenFetchService.getAccessTokenWithOauthCredentialsObject(
-                jumperConfig.getExternalTokenEndpoint(), oauthCredentials.get());
+                tokenCacheKey, jumperConfig.getExternalTokenEndpoint(), oauthCredentials.get());
       } else {
         // Fallback to legacy header-based credentials extraction
         log.debug("fetching token with legacy method");
@@ -190,12 +195,11 @@ public class UpstreamOAuthFilter extends AbstractGatewayFilterFactory<UpstreamOA
     log.debug("Get token for consumer: {} with clientId: {}", consumer, clientId);
     if (Objects.nonNull(clientId) && Objects.nonNull(clientSecret)) {
       // Store token cache key in exchange for 4xx-based eviction
-      String tokenCacheKey =
-          tokenCacheService.generateTokenCacheKey(
-              tokenEndpoint, clientId, clientSecret, clientScope);
+      TokenCacheKey tokenCacheKey =
+          TokenCacheKey.of(tokenEndpoint, clientId, clientSecret, clientScope);
       exchange.getAttributes().put(Constants.GATEWAY_ATTRIBUTE_TOKEN_CACHE_KEY, tokenCacheKey);
       return tokenFetchService.getAccessTokenWithClientCredentials(
-          tokenEndpoint, clientId, clientSecret, clientScope);
+          tokenCacheKey, tokenEndpoint, clientId, clientSecret, clientScope);
     } else {
       log.warn("not specified oauth config credentials for consumer: {}", consumer);
       return Mono.error(
@@ -0,0 +1,122 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import jumper.config.UpstreamProtocolConfigurer;
+import jumper.model.config.JumperConfig;
+import jumper.model.config.UpstreamProtocol;
+import jumper.util.ExchangeStateManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientResponse;
+
+/**
+ * Routes requests whose jumper_config sets an upstreamProtocol other than {@code
+ * jumper.upstream.protocol} through an HttpClient configured for it, as well as https requests if
+ * the protocol is h2c. It runs right before the NettyRoutingFilter of the gateway, which then
+ * skips these requests as already routed and routes all others.
+ *
+ * <p>Metrics: counter {@code jumper.upstream.requests} tagged by the protocol negotiated with the
+ * upstream, summary {@code jumper.upstream.http2.streams} of the streams open on the HTTP/2
+ * connection a response came in on. Connections and streams per pool are exported by reactor-netty
+ * as {@code reactor.netty.connection.provider.*}.
+ */
+@Component
+public class UpstreamProtocolRoutingFilter implements GlobalFilter, Ordered {
+
+  static final String REQUESTS_METRIC = "jumper.upstream.requests";
+  static final String STREAMS_METRIC = "jumper.upstream.http2.streams";
+
+  private final UpstreamProtocol defaultProtocol;
+  private final Map<UpstreamProtocol, NettyRoutingFilter> routingFilters =
+      new EnumMap<>(UpstreamProtocol.class);
+  private final MeterRegistry meterRegistry;
+  private final DistributionSummary streams;
+
+  public UpstreamProtocolRoutingFilter(
+      HttpClient httpClient,
+      UpstreamProtocolConfigurer upstreamProtocolConfigurer,
+      ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+      HttpClientProperties properties,
+      MeterRegistry meterRegistry) {
+    this.defaultProtocol = upstreamProtocolConfigurer.getDefaultProtocol();
+    for (UpstreamProtocol protocol : UpstreamProtocol.values()) {
+      if (protocol != defaultProtocol) {
+        routingFilters.put(
+            protocol,
+            new NettyRoutingFilter(
+                upstreamProtocolConfigurer.configure(httpClient, protocol),
+                headersFilters,
+                properties));
+      }
+    }
+    this.meterRegistry = meterRegistry;
+    this.streams =
+        DistributionSummary.builder(STREAMS_METRIC)
+            .description("Streams open on the HTTP/2 connection of an upstream response")
+            .register(meterRegistry);
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+    URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+    UpstreamProtocol protocol =
+        ExchangeStateManager.getJumperConfig(exchange)
+            .map(JumperConfig::getUpstreamProtocol)
+            .orElse(defaultProtocol);
+    boolean secure = requestUrl != null && "https".equalsIgnoreCase(requestUrl.getScheme());
+    NettyRoutingFilter routingFilter =
+        routingFilters.get(UpstreamProtocolConfigurer.effectiveProtocol(protocol, secure));
+
+    Mono<Void> routed =
+        routingFilter != null ? routingFilter.filter(exchange, chain) : chain.filter(exchange);
+    return routed.doOnSuccess(v -> recordProtocol(exchange));
+  }
+
+  @Override
+  public int getOrder() {
+    return NettyRoutingFilter.ORDER - 1;
+  }
+
+  private void recordProtocol(ServerWebExchange exchange) {
+    HttpClientResponse response =
+        exchange.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_ATTR);
+    if (response == null) {
+      // not routed by a NettyRoutingFilter
+      return;
+    }
+    meterRegistry.counter(REQUESTS_METRIC, "protocol", response.version().text()).increment();
+
+    Connection connection =
+        exchange.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+    if (connection != null && connection.channel() instanceof Http2StreamChannel stream) {
+      Channel parent = stream.parent();
+      Http2FrameCodec codec = parent != null ? parent.pipeline().get(Http2FrameCodec.class) : null;
+      if (codec != null) {
+        streams.record(codec.connection().numActiveStreams());
+      }
+    }
+  }
+}
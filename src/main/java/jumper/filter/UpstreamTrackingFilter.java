@@ -0,0 +1,77 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.filter;
+
+import jumper.model.config.JumperConfig;
+import jumper.service.UpstreamLoadRegistry;
+import jumper.service.UpstreamLoadRegistry.UpstreamLoad;
+import jumper.service.UpstreamOutlierDetector;
+import jumper.util.ExchangeStateManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Tracks the exchange with an upstream picked from {@code jc.loadBalancing} in the {@link
+ * UpstreamLoadRegistry} and the {@link UpstreamOutlierDetector}. It wraps only the routing filters,
+ * so token fetching and signing before neither count as upstream latency nor, when they fail, as
+ * upstream failure: a request is outstanding from sending it until the upstream's response headers
+ * arrived, every retry attempt separately.
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamTrackingFilter implements GlobalFilter, Ordered {
+
+  private final UpstreamLoadRegistry upstreamLoadRegistry;
+  private final UpstreamOutlierDetector upstreamOutlierDetector;
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+    String trackedUpstream =
+        ExchangeStateManager.getJumperConfig(exchange)
+            .map(JumperConfig::getTrackedUpstream)
+            .orElse(null);
+    if (trackedUpstream == null) {
+      return chain.filter(exchange);
+    }
+
+    return Mono.defer(
+        () -> {
+          UpstreamLoad upstreamLoad = upstreamLoadRegistry.start(trackedUpstream);
+          long startNanos = System.nanoTime();
+          return chain
+              .filter(exchange)
+              .doFinally(
+                  signal -> {
+                    upstreamLoad.finish(System.nanoTime() - startNanos);
+                    recordOutcome(exchange, trackedUpstream, signal);
+                  });
+        });
+  }
+
+  @Override
+  public int getOrder() {
+    // right before the UpstreamProtocolRoutingFilter
+    return NettyRoutingFilter.ORDER - 2;
+  }
+
+  private void recordOutcome(ServerWebExchange exchange, String upstream, SignalType signal) {
+    // a cancelled request says nothing about the upstream
+    if (signal == SignalType.CANCEL) {
+      return;
+    }
+    HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+    upstreamOutlierDetector.record(
+        upstream,
+        signal == SignalType.ON_COMPLETE && (statusCode == null || !statusCode.is5xxServerError()));
+  }
+}
@@ -0,0 +1,50 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.model;
+
+import io.jsonwebtoken.Claims;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import jumper.Constants;
+
+/**
+ * The consumer token claims jumper works with. Instances are shared between requests, so all
+ * components are immutable.
+ */
+public record ConsumerTokenClaims(
+    String clientId,
+    String originZone,
+    String originStargate,
+    String subject,
+    Set<String> audience,
+    Instant issuedAt,
+    Instant expiration,
+    String issuer) {
+
+  public ConsumerTokenClaims {
+    // keep the claim order, it is echoed into the LMS token aud claim
+    audience =
+        audience == null ? Set.of() : Collections.unmodifiableSet(new LinkedHashSet<>(audience));
+  }
+
+  public static ConsumerTokenClaims from(Claims claims) {
+    return new ConsumerTokenClaims(
+        claims.get(Constants.TOKEN_CLAIM_CLIENT_ID, String.class),
+        claims.get(Constants.TOKEN_CLAIM_ORIGIN_ZONE, String.class),
+        claims.get(Constants.TOKEN_CLAIM_ORIGIN_STARGATE, String.class),
+        claims.getSubject(),
+        claims.getAudience(),
+        toInstant(claims.getIssuedAt()),
+        toInstant(claims.getExpiration()),
+        claims.getIssuer());
+  }
+
+  private static Instant toInstant(Date date) {
+    return date == null ? null : date.toInstant();
+  }
+}
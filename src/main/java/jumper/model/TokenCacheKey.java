@@ -0,0 +1,93 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import jumper.model.config.OauthCredentials;
+import lombok.Getter;
+
+/**
+ * Key of an external IdP token in the token cache. The client credentials only enter the key as
+ * SHA-256 digest. The key is built once per exchange, its hash code is computed up front.
+ */
+@Getter
+public final class TokenCacheKey {
+
+  private static final String DELIMITER = ".";
+
+  private final String tokenEndpoint;
+  private final String clientId;
+  private final String credentialDigest;
+  private final String scopes;
+  private final int hash;
+
+  private TokenCacheKey(
+      String tokenEndpoint, String clientId, String credentialDigest, String scopes) {
+    this.tokenEndpoint = tokenEndpoint;
+    this.clientId = clientId;
+    this.credentialDigest = credentialDigest;
+    this.scopes = scopes != null ? scopes : "";
+    this.hash = Objects.hash(tokenEndpoint, clientId, credentialDigest, this.scopes);
+  }
+
+  public static TokenCacheKey of(
+      String tokenEndpoint, String clientId, String clientSecret, String scopes) {
+    return new TokenCacheKey(
+        tokenEndpoint, clientId, credentialDigest(clientId, clientSecret), scopes);
+  }
+
+  /** Uses the credential digest memoized by the credentials instance. */
+  public static TokenCacheKey of(String tokenEndpoint, OauthCredentials oauthCredentials) {
+    return new TokenCacheKey(
+        tokenEndpoint,
+        oauthCredentials.getId(),
+        oauthCredentials.getCredentialDigest(),
+        oauthCredentials.getScopes());
+  }
+
+  /** Rebuilds a key from its parts, e.g. when reading a token cache snapshot. */
+  public static TokenCacheKey fromDigest(
+      String tokenEndpoint, String clientId, String credentialDigest, String scopes) {
+    return new TokenCacheKey(tokenEndpoint, clientId, credentialDigest, scopes);
+  }
+
+  public static String credentialDigest(String clientId, String clientSecret) {
+    String combined =
+        (clientId != null ? clientId : "") + (clientSecret != null ? clientSecret : "");
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(combined.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 algorithm not available", e);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    return o instanceof TokenCacheKey other
+        && hash == other.hash
+        && Objects.equals(tokenEndpoint, other.tokenEndpoint)
+        && Objects.equals(clientId, other.clientId)
+        && Objects.equals(credentialDigest, other.credentialDigest)
+        && scopes.equals(other.scopes);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return tokenEndpoint + DELIMITER + clientId + DELIMITER + credentialDigest + DELIMITER + scopes;
+  }
+}
@@ -5,12 +5,16 @@
 package jumper.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import java.util.Date;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
+// expiration and receivedAt are only present in copies of cached tokens (e.g. in Redis) and must be
+// read after expires_in, which resets both
+@JsonPropertyOrder({"expires_in", "expiration", "receivedAt"})
 public class TokenInfo {
 
   @JsonProperty("access_token")
@@ -21,6 +25,9 @@ public class TokenInfo {
 
   private Date expiration;
 
+  // when expires_in was received, i.e. the start of the token lifetime
+  private Date receivedAt;
+
   @JsonProperty("refresh_expires_in")
   private int refreshExpiresIn;
 
@@ -39,7 +46,9 @@ public class TokenInfo {
   private String scope;
 
   public void setExpiresIn(int expiresIn) {
-    setExpiration(new Date(System.currentTimeMillis() + expiresIn * 1000L));
+    long now = System.currentTimeMillis();
+    setReceivedAt(new Date(now));
+    setExpiration(new Date(now + expiresIn * 1000L));
   }
 
   public void setExpiration(Date expiration) {
@@ -0,0 +1,66 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.model.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.Objects;
+import jumper.util.HeaderUtil;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.http.server.RequestPath;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * What a {@code consistentHash} load balanced route hashes requests by, the consumer by default.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HashKey {
+  Source source;
+  // name of the header for source header
+  String header;
+  // 0 based index of the segment in the path forwarded to the upstream for source pathSegment
+  Integer pathSegment;
+
+  public Source getSource() {
+    return Objects.requireNonNullElse(source, Source.CONSUMER);
+  }
+
+  /** The key of the request, or null if the request doesn't have one. */
+  public String resolve(ServerHttpRequest request, String consumer) {
+    return switch (getSource()) {
+      case CONSUMER -> consumer;
+      case HEADER ->
+          header != null ? HeaderUtil.getLastValueFromHeaderField(request, header) : null;
+      case PATH_SEGMENT ->
+          pathSegment != null && pathSegment >= 0 ? pathSegment(request.getPath()) : null;
+    };
+  }
+
+  private String pathSegment(RequestPath path) {
+    // the first segment is the route prefix, e.g. proxy, it isn't forwarded
+    int index = pathSegment + 1;
+    List<String> segments =
+        path.elements().stream()
+            .filter(element -> !(element instanceof RequestPath.Separator))
+            .map(RequestPath.Element::value)
+            .toList();
+    return index < segments.size() ? segments.get(index) : null;
+  }
+
+  public enum Source {
+    @JsonProperty("consumer")
+    CONSUMER,
+    @JsonProperty("header")
+    HEADER,
+    @JsonProperty("pathSegment")
+    PATH_SEGMENT
+  }
+}
@@ -7,12 +7,12 @@ package jumper.model.config;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwt;
 import java.util.*;
+import java.util.function.BiFunction;
 import jumper.Constants;
+import jumper.model.ConsumerTokenClaims;
 import jumper.util.HeaderUtil;
-import jumper.util.LoadBalancingUtil;
+import jumper.util.JumperConfigDecoder;
 import jumper.util.OauthTokenUtil;
 import jumper.util.ObjectMapperUtil;
 import lombok.Data;
@@ -20,12 +20,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import tools.jackson.core.JacksonException;
-import tools.jackson.core.type.TypeReference;
 
 @Data
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Slf4j
-public class JumperConfig {
+public class JumperConfig implements Cloneable {
 
   private HashMap<String, OauthCredentials> oauth;
   private HashMap<String, BasicAuthCredentials> basicAuth;
@@ -58,6 +57,9 @@ public class JumperConfig {
 
   String remoteApiUrl;
 
+  // protocol towards the upstream, jumper.upstream.protocol if not set
+  UpstreamProtocol upstreamProtocol;
+
   @JsonProperty("environment")
   String envName;
 
@@ -70,6 +72,9 @@ public class JumperConfig {
   String routingPath;
   String finalApiUrl;
 
+  // upstream picked from loadBalancing, the ResponseFilter tracks its load and failures
+  @JsonIgnore String trackedUpstream;
+
   Boolean secondaryFailover = false;
 
   public static String toJsonBase64(Object o) {
@@ -84,31 +89,60 @@ public class JumperConfig {
     return jsonConfigBase64;
   }
 
-  private static <T> T fromJsonBase64(String jsonConfigBase64, TypeReference<T> typeReference) {
-    String decodedJson = new String(Base64.getDecoder().decode(jsonConfigBase64.getBytes()));
-    try {
-      return ObjectMapperUtil.getInstance().readValue(decodedJson, typeReference);
-    } catch (JacksonException e) {
-      throw new RuntimeException("can not base64decode header: " + jsonConfigBase64);
-    }
-  }
-
   public static JumperConfig fromJsonBase64(String jsonConfigBase64) {
     if (StringUtils.isNotBlank(jsonConfigBase64)) {
-      return JumperConfig.fromJsonBase64(jsonConfigBase64, new TypeReference<>() {});
+      try {
+        return JumperConfigDecoder.decodeJumperConfig(jsonConfigBase64);
+      } catch (JacksonException e) {
+        throw new RuntimeException("can not base64decode header: " + jsonConfigBase64);
+      }
     } else {
       return new JumperConfig();
     }
   }
 
-  private void fillWithLegacyHeaders(ServerHttpRequest request) {
+  public static List<JumperConfig> fromJsonBase64RoutingConfig(String routingConfigBase64) {
+    if (StringUtils.isNotBlank(routingConfigBase64)) {
+      try {
+        return JumperConfigDecoder.decodeRoutingConfig(routingConfigBase64);
+      } catch (JacksonException e) {
+        throw new RuntimeException("can not base64decode header: " + routingConfigBase64);
+      }
+    }
+
+    throw new RuntimeException("can not base64decode header: " + routingConfigBase64);
+  }
+
+  /**
+   * Shallow copy used to derive a per-request config from a cached template. Nested maps, lists and
+   * objects are shared with the template and must be treated as read-only.
+   */
+  public JumperConfig copy() {
+    try {
+      return (JumperConfig) super.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException("JumperConfig must be cloneable", e);
+    }
+  }
+
+  private void fillWithLegacyHeaders(
+      ServerHttpRequest request, BiFunction<LoadBalancing, String, String> upstreamSelector) {
+
+    // processing, first as the consumer may be the load balancing hash key
+    setAuthorizationToken(
+        HeaderUtil.getLastValueFromHeaderField(request, Constants.HEADER_AUTHORIZATION));
+    ConsumerTokenClaims authorizationTokenClaims =
+        OauthTokenUtil.getConsumerTokenClaims(authorizationToken);
+    setConsumer(authorizationTokenClaims.clientId());
+    setConsumerOriginStargate(authorizationTokenClaims.originStargate());
+    setConsumerOriginZone(authorizationTokenClaims.originZone());
 
     // proxy & real
     if (request.getHeaders().containsHeader(Constants.HEADER_REMOTE_API_URL)) {
       setRemoteApiUrl(
           HeaderUtil.getLastValueFromHeaderField(request, Constants.HEADER_REMOTE_API_URL));
     } else if (Objects.nonNull(loadBalancing) && !loadBalancing.getServers().isEmpty()) {
-      setRemoteApiUrl(LoadBalancingUtil.calculateUpstream(loadBalancing.getServers()));
+      selectUpstream(request, upstreamSelector);
     } else {
       throw new RuntimeException(
           "missing routing information " + Constants.HEADER_REMOTE_API_URL + " / jc.loadBalancing");
@@ -146,74 +180,58 @@ public class JumperConfig {
             request, Constants.HEADER_X_SPACEGATE_CLIENT_SECRET));
     setXSpacegateScope(
         HeaderUtil.getLastValueFromHeaderField(request, Constants.HEADER_X_SPACEGATE_SCOPE));
-
-    // processing
-    setAuthorizationToken(
-        HeaderUtil.getLastValueFromHeaderField(request, Constants.HEADER_AUTHORIZATION));
-    Jwt<?, Claims> authorizationTokenClaims =
-        OauthTokenUtil.getAllClaimsFromToken(authorizationToken);
-    setConsumer(
-        authorizationTokenClaims.getBody().get(Constants.TOKEN_CLAIM_CLIENT_ID, String.class));
-    setConsumerOriginStargate(
-        authorizationTokenClaims
-            .getBody()
-            .get(Constants.TOKEN_CLAIM_ORIGIN_STARGATE, String.class));
-    setConsumerOriginZone(
-        authorizationTokenClaims.getBody().get(Constants.TOKEN_CLAIM_ORIGIN_ZONE, String.class));
   }
 
-  public void fillProcessingInfo(ServerHttpRequest request) {
+  public void fillProcessingInfo(
+      ServerHttpRequest request,
+      JumperConfig jumperConfigTemplate,
+      BiFunction<LoadBalancing, String, String> upstreamSelector) {
     setAuthorizationToken(
         HeaderUtil.getLastValueFromHeaderField(request, Constants.HEADER_AUTHORIZATION));
-    Jwt<?, Claims> authorizationTokenClaims =
-        OauthTokenUtil.getAllClaimsFromToken(authorizationToken);
-    setConsumer(
-        authorizationTokenClaims.getBody().get(Constants.TOKEN_CLAIM_CLIENT_ID, String.class));
-    setConsumerOriginStargate(
-        authorizationTokenClaims
-            .getBody()
-            .get(Constants.TOKEN_CLAIM_ORIGIN_STARGATE, String.class));
-    setConsumerOriginZone(
-        authorizationTokenClaims.getBody().get(Constants.TOKEN_CLAIM_ORIGIN_ZONE, String.class));
+    ConsumerTokenClaims authorizationTokenClaims =
+        OauthTokenUtil.getConsumerTokenClaims(authorizationToken);
+    setConsumer(authorizationTokenClaims.clientId());
+    setConsumerOriginStargate(authorizationTokenClaims.originStargate());
+    setConsumerOriginZone(authorizationTokenClaims.originZone());
 
     // Spectre stuff
-    JumperConfig jc =
-        JumperConfig.fromJsonBase64(
-            HeaderUtil.getLastValueFromHeaderField(request, Constants.HEADER_JUMPER_CONFIG));
-    this.setRouteListener(jc.getRouteListener());
-    this.setGatewayClient(jc.getGatewayClient());
+    this.setRouteListener(jumperConfigTemplate.getRouteListener());
+    this.setGatewayClient(jumperConfigTemplate.getGatewayClient());
     setRealmName(determineRealm(request));
 
     // check loadBalancing
     if (Objects.nonNull(loadBalancing) && !loadBalancing.getServers().isEmpty()) {
-      setRemoteApiUrl(LoadBalancingUtil.calculateUpstream(loadBalancing.getServers()));
+      selectUpstream(request, upstreamSelector);
     } else if (Objects.isNull(remoteApiUrl)) {
       throw new RuntimeException("missing routing information jc.remoteApiUrl / jc.loadBalancing");
     }
   }
 
-  public static List<JumperConfig> parseJumperConfigListFrom(ServerHttpRequest request) {
+  public static JumperConfig fillJumperConfigFrom(
+      JumperConfig jumperConfigTemplate,
+      ServerHttpRequest request,
+      BiFunction<LoadBalancing, String, String> upstreamSelector) {
 
-    String routingConfigBase64 =
-        HeaderUtil.getLastValueFromHeaderField(request, Constants.HEADER_ROUTING_CONFIG);
+    JumperConfig jc = jumperConfigTemplate.copy();
 
-    if (StringUtils.isNotBlank(routingConfigBase64)) {
-      return JumperConfig.fromJsonBase64(routingConfigBase64, new TypeReference<>() {});
-    }
+    // TODO: remove as soon we have completely shifted to json_config
+    jc.fillWithLegacyHeaders(request, upstreamSelector);
 
-    throw new RuntimeException("can not base64decode header: " + routingConfigBase64);
+    return jc;
   }
 
-  public static JumperConfig parseAndFillJumperConfigFrom(ServerHttpRequest request) {
-
-    JumperConfig jc =
-        JumperConfig.fromJsonBase64(
-            HeaderUtil.getLastValueFromHeaderField(request, Constants.HEADER_JUMPER_CONFIG));
-
-    jc.fillWithLegacyHeaders(
-        request); // TODO: remove as soon we have completely shifted to json_config
-
-    return jc;
+  /** Picks the upstream by the selector, given the hash key for strategy consistentHash. */
+  private void selectUpstream(
+      ServerHttpRequest request, BiFunction<LoadBalancing, String, String> upstreamSelector) {
+    String hashKey = null;
+    if (loadBalancing.getStrategy() == LoadBalancingStrategy.CONSISTENT_HASH) {
+      hashKey =
+          loadBalancing.getHashKey() != null
+              ? loadBalancing.getHashKey().resolve(request, consumer)
+              : consumer;
+    }
+    setRemoteApiUrl(upstreamSelector.apply(loadBalancing, hashKey));
+    setTrackedUpstream(remoteApiUrl);
   }
 
   public boolean isListenerMatched() {
@@ -4,7 +4,12 @@
 
 package jumper.model.config;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.util.List;
+import java.util.Objects;
+import jumper.util.AliasTable;
+import jumper.util.HashRing;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -14,4 +19,49 @@ import lombok.Setter;
 @NoArgsConstructor
 public class LoadBalancing {
   List<Server> servers;
+  LoadBalancingStrategy strategy;
+  // only for strategy consistentHash
+  HashKey hashKey;
+
+  // built on first use and shared by all copies of the cached config template
+  @JsonIgnore
+  @Setter(AccessLevel.NONE)
+  private volatile AliasTable aliasTable;
+
+  @JsonIgnore
+  @Setter(AccessLevel.NONE)
+  private volatile HashRing hashRing;
+
+  public void setServers(List<Server> servers) {
+    this.servers = servers;
+    this.aliasTable = null;
+    this.hashRing = null;
+  }
+
+  public LoadBalancingStrategy getStrategy() {
+    return Objects.requireNonNullElse(strategy, LoadBalancingStrategy.RANDOM);
+  }
+
+  /** Alias table over the servers, built once per server list. */
+  @JsonIgnore
+  public AliasTable getAliasTable() {
+    AliasTable table = aliasTable;
+    if (table == null) {
+      // racing threads build equal tables, either one may be kept
+      table = AliasTable.of(servers);
+      aliasTable = table;
+    }
+    return table;
+  }
+
+  /** Consistent hash ring over the servers, built once per server list. */
+  @JsonIgnore
+  public HashRing getHashRing() {
+    HashRing ring = hashRing;
+    if (ring == null) {
+      ring = HashRing.of(servers);
+      hashRing = ring;
+    }
+    return ring;
+  }
 }
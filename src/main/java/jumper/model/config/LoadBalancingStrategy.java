@@ -0,0 +1,27 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.model.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** How an upstream is picked from {@code jc.loadBalancing.servers}. */
+public enum LoadBalancingStrategy {
+  /** Random by weight, the default. */
+  @JsonProperty("random")
+  RANDOM,
+  /**
+   * Power of two choices: two servers are picked at random by weight, the request goes to the one
+   * with less load, judged by its outstanding requests and latency.
+   */
+  @JsonProperty("leastLoaded")
+  LEAST_LOADED,
+  /**
+   * Consistent hashing on a weighted ring by the {@code hashKey} of the request, so requests with
+   * the same key go to the same server. A server with more than its share of the outstanding
+   * requests, times a load factor, is passed over for the next one on the ring.
+   */
+  @JsonProperty("consistentHash")
+  CONSISTENT_HASH
+}
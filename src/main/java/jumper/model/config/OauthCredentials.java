@@ -4,6 +4,10 @@
 
 package jumper.model.config;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.Objects;
+import jumper.model.TokenCacheKey;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -20,6 +24,12 @@ public class OauthCredentials {
   private String grantType;
   private String tokenRequest;
 
+  // digest of id and secret for the token cache key, computed once per credentials instance
+  @JsonIgnore
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private volatile CredentialDigest credentialDigest;
+
   public String getId() {
 
     if (this.clientId != null && !this.clientId.isBlank()) {
@@ -29,4 +39,21 @@ public class OauthCredentials {
       return this.username;
     }
   }
+
+  /** SHA-256 of {@link #getId()} and the client secret, see {@link TokenCacheKey}. */
+  @JsonIgnore
+  public String getCredentialDigest() {
+    String id = getId();
+    CredentialDigest digest = credentialDigest;
+    if (digest == null
+        || !Objects.equals(digest.id(), id)
+        || !Objects.equals(digest.clientSecret(), clientSecret)) {
+      digest =
+          new CredentialDigest(id, clientSecret, TokenCacheKey.credentialDigest(id, clientSecret));
+      credentialDigest = digest;
+    }
+    return digest.digest();
+  }
+
+  private record CredentialDigest(String id, String clientSecret, String digest) {}
 }
@@ -0,0 +1,20 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.model.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** HTTP protocol towards the upstream, {@code jumper.upstream.protocol} unless set per route. */
+public enum UpstreamProtocol {
+  /** HTTP/1.1 only. */
+  @JsonProperty("http1")
+  HTTP1,
+  /** HTTP/2 if the upstream offers it by ALPN, otherwise HTTP/1.1. Plaintext stays HTTP/1.1. */
+  @JsonProperty("h2")
+  H2,
+  /** HTTP/2 by prior knowledge for plaintext upstreams, which must support it. h2 for TLS. */
+  @JsonProperty("h2c")
+  H2C
+}
@@ -0,0 +1,145 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import jumper.model.TokenCacheKey;
+import jumper.model.TokenInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Token fetches currently in flight, so concurrent requests for the same token key share one fetch.
+ *
+ * <ul>
+ *   <li>The shared fetch isn't cancelled by its waiters: a waiter that cancels, e.g. because its
+ *       consumer went away, doesn't affect the others, and the fetched token still gets cached.
+ *   <li>An entry older than {@code maxAgeMs} is replaced by a new fetch, and its waiters fail with
+ *       504, so a fetch that never completes can't hold up a token key for good.
+ *   <li>At most {@code maxEntries} distinct token keys are fetched at once, requests for further
+ *       keys are rejected with 503.
+ * </ul>
+ *
+ * <p>Gauges: {@code jumper.tokenfetch.inflight.entries} and {@code .waiters}.
+ */
+@Component
+@Slf4j
+public class InFlightTokenRequests {
+
+  private static final String METRIC_PREFIX = "jumper.tokenfetch.inflight";
+
+  private final int maxEntries;
+  private final long maxAgeNanos;
+  private final TokenMetrics tokenMetrics;
+
+  private final Map<TokenCacheKey, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicInteger waiters = new AtomicInteger();
+
+  public InFlightTokenRequests(
+      @Value("${jumper.tokenfetch.inflight.maxEntries:1000}") int maxEntries,
+      @Value("${jumper.tokenfetch.inflight.maxAgeMs:30000}") long maxAgeMs,
+      TokenMetrics tokenMetrics,
+      MeterRegistry meterRegistry) {
+    this.maxEntries = maxEntries;
+    this.maxAgeNanos = Duration.ofMillis(maxAgeMs).toNanos();
+    this.tokenMetrics = tokenMetrics;
+
+    Gauge.builder(METRIC_PREFIX + ".entries", entries, Map::size)
+        .description("Distinct token fetches in flight")
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + ".waiters", waiters, AtomicInteger::get)
+        .description("Token requests waiting for a fetch in flight")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Joins the fetch in flight for the token key, or starts {@code fetch} if there is none. {@code
+   * fetch} is only called once the returned Mono is subscribed.
+   */
+  public Mono<TokenInfo> join(TokenCacheKey tokenKey, Supplier<Mono<TokenInfo>> fetch) {
+    return Mono.defer(
+        () -> {
+          if (!entries.containsKey(tokenKey) && entries.size() >= maxEntries) {
+            removeExpired();
+            if (entries.size() >= maxEntries) {
+              return Mono.error(
+                  new ResponseStatusException(
+                      HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent token requests"));
+            }
+          }
+
+          AtomicBoolean originated = new AtomicBoolean();
+          Entry entry =
+              entries.compute(
+                  tokenKey,
+                  (key, existing) -> {
+                    if (existing != null && !existing.isExpired(System.nanoTime())) {
+                      return existing;
+                    }
+                    if (existing != null) {
+                      log.warn("Token request in flight for key {} exceeded its max age", key);
+                    }
+                    originated.set(true);
+                    return newEntry(key, fetch);
+                  });
+          tokenMetrics.recordCoalescing(tokenKey, originated.get());
+
+          long remainingNanos = entry.createdAtNanos + maxAgeNanos - System.nanoTime();
+          return entry
+              .shared
+              .timeout(
+                  Duration.ofNanos(Math.max(0, remainingNanos)),
+                  Mono.error(
+                      () ->
+                          new ResponseStatusException(
+                              HttpStatus.GATEWAY_TIMEOUT,
+                              "Timeout occurred while waiting for token request in flight")))
+              .doOnSubscribe(subscription -> waiters.incrementAndGet())
+              .doFinally(signal -> waiters.decrementAndGet());
+        });
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  private Entry newEntry(TokenCacheKey tokenKey, Supplier<Mono<TokenInfo>> fetch) {
+    log.debug("Creating new token request for key: {}", tokenKey);
+    Entry entry = new Entry(System.nanoTime());
+    // share() keeps the fetch running when a waiter cancels and replays the token to late waiters
+    entry.shared = Mono.defer(fetch).doFinally(signal -> entries.remove(tokenKey, entry)).share();
+    return entry;
+  }
+
+  private void removeExpired() {
+    long now = System.nanoTime();
+    entries.values().removeIf(entry -> entry.isExpired(now));
+  }
+
+  private final class Entry {
+
+    private final long createdAtNanos;
+    private Mono<TokenInfo> shared;
+
+    private Entry(long createdAtNanos) {
+      this.createdAtNanos = createdAtNanos;
+    }
+
+    private boolean isExpired(long now) {
+      return now - createdAtNanos >= maxAgeNanos;
+    }
+  }
+}
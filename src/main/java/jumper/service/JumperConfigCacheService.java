@@ -0,0 +1,89 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import java.util.List;
+import java.util.function.Function;
+import jumper.model.config.JumperConfig;
+import jumper.util.DigestUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+/**
+ * Caches decoded {@code jumper_config} / {@code routing_config} headers. Kong sends a small set of
+ * distinct header values, so the Base64 + JSON decoding is done once per value and the result is
+ * kept as a template.
+ *
+ * <p>Templates are shared between requests and must never be mutated; callers work on a {@link
+ * JumperConfig#copy()} and fill in the per-request fields there.
+ */
+@Service
+@Slf4j
+public class JumperConfigCacheService {
+
+  static final String JUMPER_CONFIG_CACHE_NAME = "cache-jumper-config";
+  static final String ROUTING_CONFIG_CACHE_NAME = "cache-routing-config";
+
+  private final Cache jumperConfigCache;
+  private final Cache routingConfigCache;
+
+  public JumperConfigCacheService(@Qualifier("caffeineCacheManager") CacheManager cacheManager) {
+    this.jumperConfigCache = lookupCache(cacheManager, JUMPER_CONFIG_CACHE_NAME);
+    this.routingConfigCache = lookupCache(cacheManager, ROUTING_CONFIG_CACHE_NAME);
+  }
+
+  /**
+   * Returns the decoded {@code jumper_config} template for the given header value. A blank header
+   * yields an empty, uncached config.
+   */
+  public JumperConfig getJumperConfigTemplate(String jumperConfigBase64) {
+    if (StringUtils.isBlank(jumperConfigBase64)) {
+      return new JumperConfig();
+    }
+    return getOrDecode(jumperConfigCache, jumperConfigBase64, JumperConfig::fromJsonBase64);
+  }
+
+  /** Returns the decoded {@code routing_config} templates for the given header value. */
+  public List<JumperConfig> getRoutingConfigTemplates(String routingConfigBase64) {
+    if (StringUtils.isBlank(routingConfigBase64)) {
+      throw new RuntimeException("can not base64decode header: " + routingConfigBase64);
+    }
+    return getOrDecode(
+        routingConfigCache,
+        routingConfigBase64,
+        value -> List.copyOf(JumperConfig.fromJsonBase64RoutingConfig(value)));
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T getOrDecode(Cache cache, String headerValue, Function<String, T> decoder) {
+    long digest = DigestUtil.fastHash64(headerValue);
+
+    CachedTemplate<T> cached = cache.get(digest, CachedTemplate.class);
+    // the digest is not collision resistant, so only trust an entry for the identical header
+    if (cached != null && cached.headerValue().equals(headerValue)) {
+      return cached.template();
+    }
+
+    T template = decoder.apply(headerValue);
+    cache.put(digest, new CachedTemplate<>(headerValue, template));
+    log.debug("cached decoded template in {} for digest {}", cache.getName(), digest);
+    return template;
+  }
+
+  private static Cache lookupCache(CacheManager cacheManager, String cacheName) {
+    Cache cache = cacheManager.getCache(cacheName);
+    if (cache == null) {
+      throw new IllegalStateException(
+          "Cache '" + cacheName + "' not found. Please check cache configuration.");
+    }
+    return cache;
+  }
+
+  private record CachedTemplate<T>(String headerValue, T template) {}
+}
@@ -7,6 +7,7 @@ package jumper.service;
 import java.util.List;
 import jumper.Constants;
 import jumper.model.config.JumperConfig;
+import jumper.util.HeaderUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -21,19 +22,30 @@ import org.springframework.web.server.ResponseStatusException;
 public class JumperConfigService {
 
   private final ZoneHealthCheckService zoneHealthCheckService;
+  private final JumperConfigCacheService jumperConfigCacheService;
+  private final UpstreamLoadBalancer upstreamLoadBalancer;
 
   public JumperConfig resolveJumperConfig(ServerHttpRequest readOnlyRequest) {
     JumperConfig jumperConfig;
+    JumperConfig jumperConfigTemplate =
+        jumperConfigCacheService.getJumperConfigTemplate(
+            HeaderUtil.getLastValueFromHeaderField(
+                readOnlyRequest, Constants.HEADER_JUMPER_CONFIG));
+
     // failover logic if routing_config header present
     if (readOnlyRequest.getHeaders().containsHeader(Constants.HEADER_ROUTING_CONFIG)) {
       // evaluate routingConfig for failover scenario
-      List<JumperConfig> jumperConfigList = JumperConfig.parseJumperConfigListFrom(readOnlyRequest);
+      List<JumperConfig> jumperConfigList =
+          jumperConfigCacheService.getRoutingConfigTemplates(
+              HeaderUtil.getLastValueFromHeaderField(
+                  readOnlyRequest, Constants.HEADER_ROUTING_CONFIG));
       log.debug("failover case, routing_config: {}", jumperConfigList);
       jumperConfig =
           pickConfigForHealthyTargetZone(
               jumperConfigList,
               readOnlyRequest.getHeaders().getFirst(Constants.HEADER_X_FAILOVER_SKIP_ZONE));
-      jumperConfig.fillProcessingInfo(readOnlyRequest);
+      jumperConfig.fillProcessingInfo(
+          readOnlyRequest, jumperConfigTemplate, upstreamLoadBalancer::chooseUpstream);
       log.debug("failover case, enhanced jumper_config: {}", jumperConfig);
 
     }
@@ -41,25 +53,32 @@ public class JumperConfigService {
     // no failover
     else {
       // Prepare and extract JumperConfigValues
-      jumperConfig = JumperConfig.parseAndFillJumperConfigFrom(readOnlyRequest);
+      jumperConfig =
+          JumperConfig.fillJumperConfigFrom(
+              jumperConfigTemplate, readOnlyRequest, upstreamLoadBalancer::chooseUpstream);
       log.debug("JumperConfig decoded: {}", jumperConfig);
     }
     return jumperConfig;
   }
 
+  /**
+   * Picks the first routing_config entry whose target zone is usable. The entries are cached
+   * templates, so the picked one is always returned as a copy.
+   */
   private JumperConfig pickConfigForHealthyTargetZone(
       List<JumperConfig> jumperConfigList, String forceSkipZone) {
     for (JumperConfig jc : jumperConfigList) {
       // secondary route, failover in place => audit logs
       if (StringUtils.isEmpty(jc.getTargetZoneName())) {
-        jc.setSecondaryFailover(true);
-        return jc;
+        JumperConfig secondaryJc = jc.copy();
+        secondaryJc.setSecondaryFailover(true);
+        return secondaryJc;
       }
       // targetZoneName present, check it against force skip header and zones state
       // map
       if (!(jc.getTargetZoneName().equalsIgnoreCase(forceSkipZone)
           || !zoneHealthCheckService.getZoneHealth(jc.getTargetZoneName()))) {
-        return jc;
+        return jc.copy();
       }
     }
     throw new ResponseStatusException(
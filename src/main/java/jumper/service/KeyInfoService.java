@@ -7,12 +7,21 @@ package jumper.service;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.PrivateKey;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -21,14 +30,23 @@ import jumper.util.RsaUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+/**
+ * Holds the gateway signing key. The key directory is watched for changes (a Kubernetes secret
+ * update swaps the {@code ..data} symlink), the scheduled refresh stays as fallback. Both only
+ * parse the key when the content of the key or kid file changed, and publish a {@link
+ * KeyRotatedEvent} then.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class KeyInfoService {
 
+  private static final String SECRET_DATA_DIR = "..data";
+
   @Value("${jumper.security.dir}")
   private final String path;
 
@@ -38,15 +56,27 @@ public class KeyInfoService {
   @Value("${jumper.security.kid-file}")
   private final String kidFile;
 
+  @Value("${jumper.security.key-watch-enabled:true}")
+  private final boolean watchEnabled;
+
   private final MeterRegistry meterRegistry;
 
+  private final ApplicationEventPublisher eventPublisher;
+
   private final AtomicReference<KeyInfo> keyInfoRef = new AtomicReference<>();
   private final AtomicInteger keyInfoLoadStatus = new AtomicInteger(0);
   private final AtomicLong lastEventTimestamp = new AtomicLong(0);
 
+  // SHA-256 over kid and key file content of the currently loaded key
+  private byte[] checksum;
+  private WatchService watchService;
+
   @PostConstruct
   public void init() {
     keyInfoRef.set(loadKeyInfo());
+    if (watchEnabled) {
+      startWatching();
+    }
     Gauge.builder("jumper.keyinfo.load.status", () -> keyInfoLoadStatus)
         .description("KeyInfo load status (1=success, 0=failure)")
         .register(meterRegistry);
@@ -55,27 +85,112 @@ public class KeyInfoService {
         .register(meterRegistry);
   }
 
+  @PreDestroy
+  public void shutdown() throws IOException {
+    if (watchService != null) {
+      watchService.close();
+    }
+  }
+
   @Scheduled(fixedRateString = "${jumper.security.key-refresh-interval-ms}")
-  public void refresh() {
-    log.info("Refreshing KeyInfo from disk");
-    keyInfoRef.set(loadKeyInfo());
+  public synchronized void refresh() {
+    log.debug("Refreshing KeyInfo from disk");
+    KeyInfo previous = keyInfoRef.get();
+    KeyInfo current = loadKeyInfo();
+    keyInfoRef.set(current);
+    if (previous != null && current != previous) {
+      log.info("KeyInfo rotated, kid={} -> kid={}", previous.getKid(), current.getKid());
+      eventPublisher.publishEvent(new KeyRotatedEvent(previous.getKid(), current.getKid()));
+    }
   }
 
   public KeyInfo getKeyInfo() {
     return keyInfoRef.get();
   }
 
+  private void startWatching() {
+    try {
+      watchService = FileSystems.getDefault().newWatchService();
+      // watch the directory, not the files: on a secret update Kubernetes writes a new timestamped
+      // directory and atomically re-points the ..data symlink the key and kid files link through
+      Path.of(path)
+          .register(
+              watchService,
+              StandardWatchEventKinds.ENTRY_CREATE,
+              StandardWatchEventKinds.ENTRY_MODIFY,
+              StandardWatchEventKinds.ENTRY_DELETE);
+    } catch (IOException e) {
+      log.warn("Cannot watch {} for key changes, relying on the scheduled refresh", path, e);
+      return;
+    }
+    Thread watcher = new Thread(this::watch, "jumper-keyinfo-watcher");
+    watcher.setDaemon(true);
+    watcher.start();
+    log.info("Watching {} for key changes", path);
+  }
+
+  private void watch() {
+    try {
+      while (true) {
+        WatchKey watchKey = watchService.take();
+        // one secret update raises several events, the checksum makes the extra refreshes cheap
+        watchKey.pollEvents();
+        refresh();
+        if (!watchKey.reset()) {
+          log.warn("{} is no longer accessible, relying on the scheduled refresh", path);
+          return;
+        }
+      }
+    } catch (ClosedWatchServiceException e) {
+      log.debug("Stopped watching {} for key changes", path);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Kubernetes swaps secret versions by re-pointing the {@code ..data} symlink. Resolving it once
+   * and reading both files below the resolved directory keeps kid and key on the same version even
+   * if a swap happens in between the two reads.
+   */
+  private Path resolveSecretDir() throws IOException {
+    Path dataDir = Path.of(path, SECRET_DATA_DIR);
+    return Files.isDirectory(dataDir) ? dataDir.toRealPath() : Path.of(path);
+  }
+
   private KeyInfo loadKeyInfo() {
     lastEventTimestamp.set(Instant.now().getEpochSecond());
     try {
-      String kid = Files.readString(Path.of(path, kidFile));
-      PrivateKey privateKey = RsaUtils.getPrivateKey(Path.of(path, keyFile));
+      Path secretDir = resolveSecretDir();
+      byte[] kidContent = Files.readAllBytes(secretDir.resolve(kidFile));
+      byte[] keyContent = Files.readAllBytes(secretDir.resolve(keyFile));
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(kidContent);
+      byte[] contentChecksum = digest.digest(keyContent);
+      KeyInfo existing = keyInfoRef.get();
+      if (existing != null && Arrays.equals(contentChecksum, checksum)) {
+        keyInfoLoadStatus.set(1);
+        lastEventTimestamp.set(System.currentTimeMillis());
+        log.debug("KeyInfo unchanged, kid={}", existing.getKid());
+        return existing;
+      }
+
+      String kid = new String(kidContent, StandardCharsets.UTF_8);
+      PrivateKey privateKey =
+          RsaUtils.getPrivateKey(new String(keyContent, StandardCharsets.UTF_8));
+      keyInfoLoadStatus.set(1);
+      lastEventTimestamp.set(System.currentTimeMillis());
+      checksum = contentChecksum;
+      // keep the instance for an unchanged key, so a refresh only counts as rotation on change
+      if (existing != null
+          && kid.equals(existing.getKid())
+          && privateKey.equals(existing.getPk())) {
+        return existing;
+      }
       KeyInfo keyInfo = new KeyInfo();
       keyInfo.setKid(kid);
       keyInfo.setPk(privateKey);
       log.debug("KeyInfo loaded successfully, kid={}", kid);
-      keyInfoLoadStatus.set(1);
-      lastEventTimestamp.set(System.currentTimeMillis());
       return keyInfo;
     } catch (IOException | GeneralSecurityException e) {
       keyInfoLoadStatus.set(0);
@@ -0,0 +1,11 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+/**
+ * Published by {@link KeyInfoService} when the gateway signing key changed on disk. Caches holding
+ * tokens signed with the previous key listen to it and drop their entries.
+ */
+public record KeyRotatedEvent(String previousKid, String kid) {}
@@ -0,0 +1,177 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import jumper.model.TokenCacheKey;
+import jumper.model.TokenInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Second level of the IdP token cache, shared by all Jumper replicas via Redis. Tokens are stored
+ * encrypted with {@link TokenCacheCipher} and expire {@code ttlOffset} before the token itself. A
+ * short-lived lock key lets only one replica fetch a token at a time.
+ *
+ * <p>Redis is an optimization only: every Redis failure is logged and treated as a cache miss.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(value = "jumper.tokencache.redis.enabled", havingValue = "true")
+public class RedisTokenCacheService {
+
+  private static final String TOKEN_KEY_PREFIX = "jumper:token:";
+  private static final String LOCK_KEY_PREFIX = "jumper:token-lock:";
+  // deletes the lock only while it still holds the owner's value, see unlock
+  private static final RedisScript<Long> UNLOCK_SCRIPT =
+      RedisScript.of(
+          "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1])"
+              + " else return 0 end",
+          Long.class);
+
+  private final ReactiveStringRedisTemplate redisTemplate;
+  private final TokenCacheCipher tokenCacheCipher;
+  private final ObjectMapper objectMapper;
+  private final Duration ttlOffset;
+  private final Duration maxLifetime;
+  private final Duration lockTimeout;
+
+  public RedisTokenCacheService(
+      ReactiveStringRedisTemplate redisTemplate,
+      TokenCacheCipher tokenCacheCipher,
+      ObjectMapper objectMapper,
+      @Value("${jumper.tokencache.ttlOffset}") int ttlOffset,
+      @Value("${jumper.tokencache.expireAfterWriteMinutes:30}") int maxLifetimeMinutes,
+      @Value("${jumper.tokencache.redis.lockTimeoutMs:5000}") long lockTimeoutMs) {
+    this.redisTemplate = redisTemplate;
+    this.tokenCacheCipher = tokenCacheCipher;
+    this.objectMapper = objectMapper;
+    this.ttlOffset = Duration.ofSeconds(ttlOffset);
+    this.maxLifetime = Duration.ofMinutes(maxLifetimeMinutes);
+    this.lockTimeout = Duration.ofMillis(lockTimeoutMs);
+  }
+
+  public Duration getLockTimeout() {
+    return lockTimeout;
+  }
+
+  public Mono<TokenInfo> getToken(TokenCacheKey tokenCacheKey) {
+    return redisTemplate
+        .opsForValue()
+        .get(TOKEN_KEY_PREFIX + redisKey(tokenCacheKey))
+        .flatMap(value -> Mono.justOrEmpty(decode(value)))
+        .doOnNext(token -> log.debug("Token found in Redis for key: {}", tokenCacheKey))
+        .onErrorResume(
+            e -> {
+              log.warn("Reading token from Redis failed: {}", e.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  public Mono<Void> saveToken(TokenCacheKey tokenCacheKey, TokenInfo tokenInfo) {
+    Duration ttl =
+        tokenInfo.getExpiration() != null
+            ? Duration.ofMillis(tokenInfo.getExpiration().getTime() - System.currentTimeMillis())
+                .minus(ttlOffset)
+            : maxLifetime;
+    if (ttl.isNegative() || ttl.isZero()) {
+      return Mono.empty();
+    }
+    String value;
+    try {
+      value =
+          Base64.getEncoder()
+              .encodeToString(tokenCacheCipher.encrypt(objectMapper.writeValueAsBytes(tokenInfo)));
+    } catch (GeneralSecurityException e) {
+      log.warn("Encrypting token for Redis failed: {}", e.getMessage());
+      return Mono.empty();
+    }
+    return redisTemplate
+        .opsForValue()
+        .set(TOKEN_KEY_PREFIX + redisKey(tokenCacheKey), value, ttl)
+        .onErrorResume(
+            e -> {
+              log.warn("Writing token to Redis failed: {}", e.getMessage());
+              return Mono.just(false);
+            })
+        .then();
+  }
+
+  public Mono<Void> evictToken(TokenCacheKey tokenCacheKey) {
+    return redisTemplate
+        .delete(TOKEN_KEY_PREFIX + redisKey(tokenCacheKey))
+        .onErrorResume(
+            e -> {
+              log.warn("Evicting token from Redis failed: {}", e.getMessage());
+              return Mono.just(0L);
+            })
+        .then();
+  }
+
+  /**
+   * Tries to become the replica that fetches the token. The lock expires by itself after the lock
+   * timeout, so a crashed replica can't block others. Emits {@code true} when Redis is unavailable,
+   * so the token is fetched locally.
+   *
+   * @param owner unique per lock attempt, only this owner can {@link #unlock} the lock again
+   */
+  public Mono<Boolean> tryLock(TokenCacheKey tokenCacheKey, String owner) {
+    return redisTemplate
+        .opsForValue()
+        .setIfAbsent(LOCK_KEY_PREFIX + redisKey(tokenCacheKey), owner, lockTimeout)
+        .defaultIfEmpty(true)
+        .onErrorResume(
+            e -> {
+              log.warn("Locking token in Redis failed: {}", e.getMessage());
+              return Mono.just(true);
+            });
+  }
+
+  /**
+   * Releases the lock if {@code owner} still holds it. A fetch outlasting the lock timeout must not
+   * release the lock another replica acquired after the expiry, so get and delete run atomically.
+   */
+  public Mono<Void> unlock(TokenCacheKey tokenCacheKey, String owner) {
+    return redisTemplate
+        .execute(UNLOCK_SCRIPT, List.of(LOCK_KEY_PREFIX + redisKey(tokenCacheKey)), List.of(owner))
+        .onErrorResume(e -> Mono.just(0L))
+        .then();
+  }
+
+  private TokenInfo decode(String value) {
+    try {
+      byte[] json = tokenCacheCipher.decrypt(Base64.getDecoder().decode(value));
+      return objectMapper.readValue(json, TokenInfo.class);
+    } catch (GeneralSecurityException | IllegalArgumentException | JacksonException e) {
+      // e.g. written with a signing key that was rotated since
+      log.debug("Ignoring unreadable token from Redis: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  // the key contains client ids, so only its digest is stored in Redis
+  private static String redisKey(TokenCacheKey tokenCacheKey) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of()
+          .formatHex(digest.digest(tokenCacheKey.toString().getBytes(StandardCharsets.UTF_8)));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("SHA-256 algorithm not available", e);
+    }
+  }
+}
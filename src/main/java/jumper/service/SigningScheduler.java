@@ -0,0 +1,146 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.Connection;
+
+/**
+ * Runs JWT signing on a dedicated, bounded thread pool. Signing is CPU heavy, so it must neither
+ * block the reactor-netty event loops nor compete with other work on the shared Reactor schedulers.
+ *
+ * <p>Work beyond the queue capacity is rejected with 503 instead of piling up behind a burst.
+ */
+@Service
+@Slf4j
+public class SigningScheduler {
+
+  private final ThreadPoolExecutor executor;
+  private final Scheduler scheduler;
+  private final Timer waitTimer;
+  private final Timer signingTimer;
+
+  public SigningScheduler(
+      @Value("${jumper.signing.threads:0}") int threads,
+      @Value("${jumper.signing.queue-capacity:1000}") int queueCapacity,
+      MeterRegistry meterRegistry) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "jumper-signing-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    this.scheduler = Schedulers.fromExecutorService(executor, "jumper-signing");
+
+    Gauge.builder("jumper.signing.queue.size", executor, e -> e.getQueue().size())
+        .description("Signing tasks waiting for a thread")
+        .register(meterRegistry);
+    Gauge.builder("jumper.signing.queue.remaining", executor, e -> e.getQueue().remainingCapacity())
+        .description("Signing tasks that can still be queued before work is rejected")
+        .register(meterRegistry);
+    Gauge.builder("jumper.signing.active", executor, ThreadPoolExecutor::getActiveCount)
+        .description("Signing threads currently busy")
+        .register(meterRegistry);
+    this.waitTimer =
+        Timer.builder("jumper.signing.wait")
+            .description("Time a signing task waited in the queue")
+            .register(meterRegistry);
+    this.signingTimer =
+        Timer.builder("jumper.signing.duration")
+            .description("Time spent signing")
+            .register(meterRegistry);
+
+    log.info(
+        "Signing scheduler started with {} threads, queue capacity {}", poolSize, queueCapacity);
+  }
+
+  /**
+   * Runs the signing task on the signing pool and emits its result on {@code resumeOn}, so that
+   * only the signing occupies the pool and the request continues where it came from.
+   */
+  public <T> Mono<T> sign(Callable<T> signingTask, Scheduler resumeOn) {
+    return Mono.defer(
+            () -> {
+              long enqueuedAt = System.nanoTime();
+              return Mono.fromCallable(
+                      () -> {
+                        waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                        return signingTimer.recordCallable(signingTask);
+                      })
+                  .subscribeOn(scheduler);
+            })
+        .onErrorMap(
+            RejectedExecutionException.class,
+            e ->
+                new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE, "Token signing capacity exhausted", e))
+        .publishOn(resumeOn);
+  }
+
+  /**
+   * Emits the token {@code cached} finds right away on the calling thread and hands only a miss as
+   * {@code signingTask} to {@link #sign}, so cache hits neither queue up behind signing work nor
+   * show up in the signing metrics.
+   */
+  public <T> Mono<T> signUnlessCached(
+      Supplier<Optional<T>> cached, Callable<T> signingTask, Scheduler resumeOn) {
+    return Mono.defer(
+        () -> cached.get().map(Mono::just).orElseGet(() -> sign(signingTask, resumeOn)));
+  }
+
+  /**
+   * The event loop of the connection the exchange came in on, or the parallel scheduler if it isn't
+   * served by reactor-netty.
+   */
+  public static Scheduler eventLoopOf(ServerWebExchange exchange) {
+    Object nativeRequest;
+    try {
+      nativeRequest = ServerHttpRequestDecorator.getNativeRequest(exchange.getRequest());
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      // no native request, e.g. a mock
+      return Schedulers.parallel();
+    }
+    if (nativeRequest instanceof Connection connection) {
+      return Schedulers.fromExecutor(connection.channel().eventLoop());
+    }
+    return Schedulers.parallel();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.dispose();
+  }
+}
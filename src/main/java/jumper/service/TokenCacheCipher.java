@@ -0,0 +1,76 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import jumper.model.config.KeyInfo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encrypts cached IdP tokens that leave the process (shared cache, snapshots) with AES-GCM. The AES
+ * key is derived from the gateway signing key, so every replica with the same key mount can read
+ * the tokens, and a key rotation makes the old ones unreadable.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenCacheCipher {
+
+  private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+  private static final int IV_LENGTH = 12;
+  private static final int TAG_LENGTH_BITS = 128;
+  private static final byte[] KEY_DERIVATION_CONTEXT =
+      "jumper-token-cache".getBytes(StandardCharsets.UTF_8);
+
+  private final KeyInfoService keyInfoService;
+  private final SecureRandom secureRandom = new SecureRandom();
+
+  private volatile DerivedKey derivedKey;
+
+  public byte[] encrypt(byte[] plaintext) throws GeneralSecurityException {
+    byte[] iv = new byte[IV_LENGTH];
+    secureRandom.nextBytes(iv);
+    Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+    cipher.init(Cipher.ENCRYPT_MODE, secretKey(), new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+    byte[] ciphertext = cipher.doFinal(plaintext);
+    return ByteBuffer.allocate(IV_LENGTH + ciphertext.length).put(iv).put(ciphertext).array();
+  }
+
+  /** Fails for data that was tampered with or encrypted with another signing key. */
+  public byte[] decrypt(byte[] data) throws GeneralSecurityException {
+    if (data.length <= IV_LENGTH) {
+      throw new GeneralSecurityException("Encrypted token too short");
+    }
+    Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+    cipher.init(
+        Cipher.DECRYPT_MODE,
+        secretKey(),
+        new GCMParameterSpec(TAG_LENGTH_BITS, data, 0, IV_LENGTH));
+    return cipher.doFinal(data, IV_LENGTH, data.length - IV_LENGTH);
+  }
+
+  private SecretKey secretKey() throws GeneralSecurityException {
+    KeyInfo keyInfo = keyInfoService.getKeyInfo();
+    DerivedKey current = derivedKey;
+    if (current == null || current.keyInfo() != keyInfo) {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(KEY_DERIVATION_CONTEXT);
+      byte[] keyBytes = digest.digest(keyInfo.getPk().getEncoded());
+      current = new DerivedKey(keyInfo, new SecretKeySpec(keyBytes, "AES"));
+      derivedKey = current;
+    }
+    return current.secretKey();
+  }
+
+  private record DerivedKey(KeyInfo keyInfo, SecretKey secretKey) {}
+}
@@ -4,29 +4,41 @@
 
 package jumper.service;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import jumper.model.TokenCacheKey;
 import jumper.model.TokenInfo;
-import jumper.model.config.OauthCredentials;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Service
 @Slf4j
 public class TokenCacheService {
 
-  @Value("${jumper.tokencache.ttlOffset}")
-  private int ttlOffset;
+  // fraction of the token lifetime after which a cached token is refreshed in the background,
+  // 0 disables refresh-ahead
+  @Value("${jumper.tokencache.refreshAheadFraction:0}")
+  private double refreshAheadFraction;
 
-  private static final String TOKEN_CACHE_KEY_DELIMITER = ".";
   private static final String TOKEN_CACHE_NAME = "cache-token-info";
+  private static final Duration SHARED_TOKEN_POLL_INTERVAL = Duration.ofMillis(100);
 
   private final Cache tokenCache;
+  private final Optional<RedisTokenCacheService> sharedTokenCache;
 
-  public TokenCacheService(@Qualifier("caffeineCacheManager") CacheManager cacheManager) {
+  public TokenCacheService(
+      @Qualifier("caffeineCacheManager") CacheManager cacheManager,
+      Optional<RedisTokenCacheService> sharedTokenCache) {
+    this.sharedTokenCache = sharedTokenCache;
     this.tokenCache = cacheManager.getCache(TOKEN_CACHE_NAME);
     if (this.tokenCache == null) {
       throw new IllegalStateException(
@@ -35,81 +47,101 @@ public class TokenCacheService {
     log.debug("TokenCacheService initialized with Spring-managed cache: {}", TOKEN_CACHE_NAME);
   }
 
-  public Optional<TokenInfo> getToken(String tokenCacheKey) {
+  public Optional<TokenInfo> getToken(TokenCacheKey tokenCacheKey) {
     log.debug("try to grab token from cache with key: {}", tokenCacheKey);
 
-    TokenInfo token = tokenCache.get(tokenCacheKey, TokenInfo.class);
+    // entries expire ttlOffset before the token does, see TokenInfoExpiry
+    return Optional.ofNullable(tokenCache.get(tokenCacheKey, TokenInfo.class));
+  }
 
-    // Additional TTL validation with offset
-    if (token != null && !isValid(token)) {
-      log.debug(
-          "TTL: {} seconds | Token will expire within {} seconds, removing from cache",
-          token.getExpiresIn(),
-          this.ttlOffset);
-      tokenCache.evict(tokenCacheKey);
-      return Optional.empty();
+  /**
+   * Whether the token is still valid but old enough to be refreshed ahead of its expiry. Tokens
+   * without {@code expires_in} are never refreshed ahead.
+   */
+  public boolean isRefreshAheadDue(TokenInfo token) {
+    if (refreshAheadFraction <= 0
+        || token.getExpiration() == null
+        || token.getReceivedAt() == null) {
+      return false;
     }
-
-    return Optional.ofNullable(token);
+    long receivedAt = token.getReceivedAt().getTime();
+    long lifetime = token.getExpiration().getTime() - receivedAt;
+    return System.currentTimeMillis() >= receivedAt + (long) (lifetime * refreshAheadFraction);
   }
 
-  public void saveToken(String tokenKey, TokenInfo gwAccessToken) {
+  public void saveToken(TokenCacheKey tokenKey, TokenInfo gwAccessToken) {
     log.debug("Token saved with tokenKey: '{}'", tokenKey);
     tokenCache.put(tokenKey, gwAccessToken);
   }
 
-  public void evictToken(String tokenCacheKey) {
-    if (tokenCacheKey != null) {
-      log.debug("Evicting token from cache with key: '{}'", tokenCacheKey);
-      tokenCache.evict(tokenCacheKey);
+  /** The tokens currently held in the local cache. */
+  public Map<TokenCacheKey, TokenInfo> getTokens() {
+    Map<TokenCacheKey, TokenInfo> tokens = new HashMap<>();
+    Object nativeCache = tokenCache.getNativeCache();
+    if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+      caffeineCache
+          .asMap()
+          .forEach(
+              (key, value) -> {
+                if (key instanceof TokenCacheKey tokenCacheKey
+                    && value instanceof TokenInfo tokenInfo) {
+                  tokens.put(tokenCacheKey, tokenInfo);
+                }
+              });
     }
+    return tokens;
   }
 
-  public String generateTokenCacheKey(String tokenEndpoint, OauthCredentials oauthCredentials) {
-    return generateTokenCacheKey(
-        tokenEndpoint,
-        oauthCredentials.getId(),
-        oauthCredentials.getClientSecret(),
-        oauthCredentials.getScopes());
-  }
-
-  public String generateTokenCacheKey(
-      String tokenEndpoint, String clientID, String clientSecret, String scopes) {
-    String safeScopes = scopes != null ? scopes : "";
-    String hashedCredentials = hashCredentials(clientID, clientSecret);
-    return tokenEndpoint
-        + TOKEN_CACHE_KEY_DELIMITER
-        + clientID
-        + TOKEN_CACHE_KEY_DELIMITER
-        + hashedCredentials
-        + TOKEN_CACHE_KEY_DELIMITER
-        + safeScopes;
-  }
-
-  private boolean isValid(TokenInfo token) {
-    // If expiration is null (no expires_in in token response), treat as valid.
-    // Rely on cache's TTL (30 min max via expireAfterWrite) and 4xx-based eviction.
-    if (token.getExpiration() == null) {
-      return true;
+  public void evictToken(TokenCacheKey tokenCacheKey) {
+    if (tokenCacheKey != null) {
+      log.debug("Evicting token from cache with key: '{}'", tokenCacheKey);
+      tokenCache.evict(tokenCacheKey);
+      // the rejected token must not come back from the shared cache either
+      sharedTokenCache.ifPresent(shared -> shared.evictToken(tokenCacheKey).subscribe());
     }
-    return token.getExpiresIn() > this.ttlOffset;
   }
 
-  private String hashCredentials(String clientId, String clientSecret) {
-    try {
-      String combined =
-          (clientId != null ? clientId : "") + (clientSecret != null ? clientSecret : "");
-      java.security.MessageDigest digest = java.security.MessageDigest.getInstance("SHA-256");
-      byte[] hash = digest.digest(combined.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-      StringBuilder hexString = new StringBuilder();
-      for (byte b : hash) {
-        String hex = Integer.toHexString(0xff & b);
-        if (hex.length() == 1) hexString.append('0');
-        hexString.append(hex);
-      }
-      return hexString.toString();
-    } catch (java.security.NoSuchAlgorithmException e) {
-      throw new RuntimeException("SHA-256 algorithm not available", e);
+  /**
+   * Loads a token missing in the local cache. With the shared Redis cache enabled, a token stored
+   * there by another replica is used, otherwise only the replica holding the lock runs {@code
+   * fetch} and shares the result, the others wait for it. Without the shared cache this is just
+   * {@code fetch}.
+   */
+  public Mono<TokenInfo> loadThroughSharedCache(
+      TokenCacheKey tokenCacheKey, Mono<TokenInfo> fetch) {
+    if (sharedTokenCache.isEmpty()) {
+      return fetch;
     }
+    RedisTokenCacheService shared = sharedTokenCache.get();
+    // a shared token due for refresh-ahead counts as missing, so it actually gets refreshed
+    Mono<TokenInfo> sharedToken =
+        shared
+            .getToken(tokenCacheKey)
+            .filter(token -> !isRefreshAheadDue(token))
+            .doOnNext(token -> saveToken(tokenCacheKey, token));
+    Mono<TokenInfo> fetchAndShare =
+        fetch.flatMap(token -> shared.saveToken(tokenCacheKey, token).thenReturn(token));
+    // another replica is fetching, wait for its token up to the lock timeout
+    long maxPolls = shared.getLockTimeout().dividedBy(SHARED_TOKEN_POLL_INTERVAL);
+    Mono<TokenInfo> waitForSharedToken =
+        Flux.interval(SHARED_TOKEN_POLL_INTERVAL)
+            .take(maxPolls)
+            .concatMap(poll -> sharedToken)
+            .next()
+            .switchIfEmpty(fetchAndShare);
+
+    return sharedToken.switchIfEmpty(
+        Mono.defer(
+            () -> {
+              String lockOwner = UUID.randomUUID().toString();
+              return shared
+                  .tryLock(tokenCacheKey, lockOwner)
+                  .flatMap(
+                      locked ->
+                          locked
+                              ? fetchAndShare.doFinally(
+                                  signal -> shared.unlock(tokenCacheKey, lockOwner).subscribe())
+                              : waitForSharedToken);
+            }));
   }
 }
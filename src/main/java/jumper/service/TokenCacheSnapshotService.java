@@ -0,0 +1,167 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jumper.model.TokenCacheKey;
+import jumper.model.TokenInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Keeps the IdP token cache across restarts. On shutdown the live tokens are written to an
+ * encrypted snapshot file, see {@link TokenCacheCipher}, which {@link WarmupService} loads into the
+ * cache on startup, so a new pod doesn't have to fetch every token again.
+ *
+ * <p>The snapshot is deleted once loaded. Tokens that expire within {@code ttlOffset} are dropped,
+ * as are tokens without {@code expires_in}, whose age is unknown.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(value = "jumper.tokencache.snapshot.enabled", havingValue = "true")
+public class TokenCacheSnapshotService {
+
+  private final TokenCacheService tokenCacheService;
+  private final TokenCacheCipher tokenCacheCipher;
+  private final ObjectMapper objectMapper;
+  private final Path snapshotFile;
+  private final long ttlOffsetMillis;
+
+  public TokenCacheSnapshotService(
+      TokenCacheService tokenCacheService,
+      TokenCacheCipher tokenCacheCipher,
+      ObjectMapper objectMapper,
+      @Value("${jumper.tokencache.snapshot.path}") Path snapshotFile,
+      @Value("${jumper.tokencache.ttlOffset}") int ttlOffset) {
+    this.tokenCacheService = tokenCacheService;
+    this.tokenCacheCipher = tokenCacheCipher;
+    this.objectMapper = objectMapper;
+    this.snapshotFile = snapshotFile;
+    this.ttlOffsetMillis = TimeUnit.SECONDS.toMillis(ttlOffset);
+  }
+
+  /**
+   * Runs when the context closes, i.e. after the graceful shutdown has drained the in-flight
+   * requests.
+   */
+  @PreDestroy
+  public void writeSnapshot() {
+    List<SnapshotEntry> entries =
+        tokenCacheService.getTokens().entrySet().stream()
+            .filter(entry -> isUsable(entry.getValue()))
+            .map(entry -> SnapshotEntry.of(entry.getKey(), entry.getValue()))
+            .toList();
+    if (entries.isEmpty()) {
+      log.info("Token cache snapshot: no tokens to write");
+      return;
+    }
+
+    try {
+      byte[] data = tokenCacheCipher.encrypt(objectMapper.writeValueAsBytes(entries));
+      Path parent = snapshotFile.toAbsolutePath().getParent();
+      Files.createDirectories(parent);
+      // write next to the target and move, so a shutdown cut short never leaves half a snapshot
+      Path tempFile = Files.createTempFile(parent, snapshotFile.getFileName().toString(), ".tmp");
+      Files.write(tempFile, data);
+      Files.move(
+          tempFile,
+          snapshotFile,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      log.info("Token cache snapshot: wrote {} token(s) to {}", entries.size(), snapshotFile);
+    } catch (IOException | GeneralSecurityException | JacksonException e) {
+      log.warn("Token cache snapshot: writing {} failed: {}", snapshotFile, e.getMessage());
+    }
+  }
+
+  /**
+   * Loads the snapshot into the token cache and deletes it.
+   *
+   * @return the number of tokens restored
+   */
+  public int restoreSnapshot() {
+    byte[] data;
+    try {
+      data = Files.readAllBytes(snapshotFile);
+    } catch (NoSuchFileException e) {
+      log.info("Token cache snapshot: {} not found, starting empty", snapshotFile);
+      return 0;
+    } catch (IOException e) {
+      log.warn("Token cache snapshot: reading {} failed: {}", snapshotFile, e.getMessage());
+      return 0;
+    }
+
+    int restored = 0;
+    try {
+      List<SnapshotEntry> entries =
+          objectMapper.readValue(tokenCacheCipher.decrypt(data), new TypeReference<>() {});
+      for (SnapshotEntry entry : entries) {
+        if (isUsable(entry.token())) {
+          tokenCacheService.saveToken(entry.toKey(), entry.token());
+          restored++;
+        }
+      }
+      log.info(
+          "Token cache snapshot: restored {} of {} token(s) from {}",
+          restored,
+          entries.size(),
+          snapshotFile);
+    } catch (GeneralSecurityException | JacksonException e) {
+      // e.g. written with a signing key that was rotated since
+      log.warn("Token cache snapshot: ignoring unreadable {}: {}", snapshotFile, e.getMessage());
+    } finally {
+      // tokens evicted after this point must not come back with the next restart
+      delete();
+    }
+    return restored;
+  }
+
+  private boolean isUsable(TokenInfo tokenInfo) {
+    return tokenInfo.getExpiration() != null
+        && tokenInfo.getExpiration().getTime() - ttlOffsetMillis > System.currentTimeMillis();
+  }
+
+  private void delete() {
+    try {
+      Files.deleteIfExists(snapshotFile);
+    } catch (IOException e) {
+      log.warn("Token cache snapshot: deleting {} failed: {}", snapshotFile, e.getMessage());
+    }
+  }
+
+  record SnapshotEntry(
+      String tokenEndpoint,
+      String clientId,
+      String credentialDigest,
+      String scopes,
+      TokenInfo token) {
+
+    static SnapshotEntry of(TokenCacheKey key, TokenInfo token) {
+      return new SnapshotEntry(
+          key.getTokenEndpoint(),
+          key.getClientId(),
+          key.getCredentialDigest(),
+          key.getScopes(),
+          token);
+    }
+
+    TokenCacheKey toKey() {
+      return TokenCacheKey.fromDigest(tokenEndpoint, clientId, credentialDigest, scopes);
+    }
+  }
+}
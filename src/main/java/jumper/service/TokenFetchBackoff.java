@@ -0,0 +1,125 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import jumper.model.TokenCacheKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Negative cache for failing token fetches. After a failed fetch, further fetches for the same
+ * token key fail fast with the cached error until the backoff has passed, instead of each waiting
+ * for the IdP to time out again. The backoff starts at {@code initialBackoffMs} and doubles with
+ * every consecutive failure up to {@code maxBackoffMs}; a successful fetch resets it.
+ *
+ * <p>An initial backoff of 0 disables the negative cache.
+ */
+@Service
+@Slf4j
+public class TokenFetchBackoff {
+
+  private static final String METRIC_PREFIX = "jumper.tokencache.negative";
+
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final Cache<TokenCacheKey, FetchFailure> failures;
+  private final Counter suppressedCounter;
+  private final Counter failureCounter;
+
+  public TokenFetchBackoff(
+      @Value("${jumper.tokencache.negative.initialBackoffMs:1000}") long initialBackoffMs,
+      @Value("${jumper.tokencache.negative.maxBackoffMs:30000}") long maxBackoffMs,
+      @Value("${jumper.tokencache.negative.maxSize:10000}") long maxSize,
+      MeterRegistry meterRegistry) {
+    this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+    this.maxBackoff = Duration.ofMillis(Math.max(initialBackoffMs, maxBackoffMs));
+    // keeps the failure count a while after the backoff, so the next failure backs off longer
+    this.failures =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(maxBackoff.multipliedBy(2))
+            .build();
+
+    Gauge.builder(METRIC_PREFIX + ".size", failures, Cache::estimatedSize)
+        .description("Token keys with a recently failed fetch")
+        .register(meterRegistry);
+    this.suppressedCounter =
+        Counter.builder(METRIC_PREFIX + ".suppressed")
+            .description("Token fetches answered with a cached failure instead of calling the IdP")
+            .register(meterRegistry);
+    this.failureCounter =
+        Counter.builder(METRIC_PREFIX + ".failures")
+            .description("Failed token fetches that started or extended a backoff")
+            .register(meterRegistry);
+  }
+
+  /** The cached failure to answer with, if the token key is still backing off. */
+  public Optional<ResponseStatusException> suppressedFailure(TokenCacheKey tokenKey) {
+    if (initialBackoff.isZero()) {
+      return Optional.empty();
+    }
+    FetchFailure failure = failures.getIfPresent(tokenKey);
+    if (failure == null || System.nanoTime() - failure.retryAtNanos() >= 0) {
+      return Optional.empty();
+    }
+    suppressedCounter.increment();
+    log.debug("Token fetch for key {} suppressed, endpoint is backing off", tokenKey);
+    // a new exception per request, the reason still tells the original failure
+    return Optional.of(new ResponseStatusException(failure.status(), failure.reason()));
+  }
+
+  public void recordFailure(TokenCacheKey tokenKey, Throwable throwable) {
+    if (initialBackoff.isZero()) {
+      return;
+    }
+    HttpStatusCode status =
+        throwable instanceof ResponseStatusException rse
+            ? rse.getStatusCode()
+            : HttpStatus.UNAUTHORIZED;
+    String reason =
+        throwable instanceof ResponseStatusException rse ? rse.getReason() : throwable.getMessage();
+    FetchFailure failure =
+        failures
+            .asMap()
+            .compute(
+                tokenKey,
+                (key, previous) -> {
+                  int attempts = previous != null ? previous.attempts() + 1 : 1;
+                  Duration backoff = backoff(attempts);
+                  return new FetchFailure(
+                      status, reason, attempts, System.nanoTime() + backoff.toNanos());
+                });
+    failureCounter.increment();
+    log.debug(
+        "Token fetch for key {} failed {} time(s), backing off for {}ms",
+        tokenKey,
+        failure.attempts(),
+        backoff(failure.attempts()).toMillis());
+  }
+
+  public void recordSuccess(TokenCacheKey tokenKey) {
+    failures.invalidate(tokenKey);
+  }
+
+  private Duration backoff(int attempts) {
+    // initialBackoff * 2^(attempts - 1), the shift is capped to avoid an overflow
+    Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+    return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+  }
+
+  private record FetchFailure(
+      HttpStatusCode status, String reason, int attempts, long retryAtNanos) {}
+}
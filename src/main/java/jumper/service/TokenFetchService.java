@@ -8,15 +8,21 @@ import static jumper.Constants.TOKEN_REQUEST_METHOD_POST;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.netty.channel.ConnectTimeoutException;
 import io.netty.handler.ssl.SslHandshakeTimeoutException;
 import java.net.UnknownHostException;
 import java.time.Duration;
 import java.util.Date;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import jumper.Constants;
+import jumper.model.TokenCacheKey;
 import jumper.model.TokenInfo;
 import jumper.model.config.OauthCredentials;
 import jumper.util.BasicAuthUtil;
@@ -47,123 +53,167 @@ import reactor.util.retry.Retry;
 @RequiredArgsConstructor
 public class TokenFetchService {
 
+  private static final String TOKEN_REFRESH_METRIC = "jumper.tokencache.refresh";
+
   @Qualifier("oauthTokenUtilWebClient")
   private final WebClient oauthTokenUtilWebClient;
 
   private final TokenCacheService tokenCache;
   private final TokenGeneratorService tokenGeneratorService;
+  private final MeterRegistry meterRegistry;
+  private final TokenFetchBackoff tokenFetchBackoff;
+  private final TokenMetrics tokenMetrics;
+  private final InFlightTokenRequests inFlightTokenRequests;
 
-  private final ConcurrentHashMap<String, Mono<TokenInfo>> inFlightTokenRequests =
-      new ConcurrentHashMap<>();
+  private final Set<TokenCacheKey> refreshesInProgress = ConcurrentHashMap.newKeySet();
 
   public Mono<TokenInfo> getAccessTokenWithClientCredentials(
-      String tokenEndpoint, String clientID, String clientSecret, String scope) {
+      TokenCacheKey tokenKey,
+      String tokenEndpoint,
+      String clientID,
+      String clientSecret,
+      String scope) {
 
-    final String tokenKey =
-        tokenCache.generateTokenCacheKey(tokenEndpoint, clientID, clientSecret, scope);
+    // try to get valid token from tokenCache, otherwise retrieve a new one
+    return getCachedOrFetch(
+        tokenKey,
+        () -> {
+          MultiValueMap<String, String> requestParameter = new LinkedMultiValueMap<>();
+          requestParameter.add(Constants.TOKEN_REQUEST_PARAMETER_CLIENT_ID, clientID);
+          requestParameter.add(Constants.TOKEN_REQUEST_PARAMETER_CLIENT_SECRET, clientSecret);
+          requestParameter.add(
+              Constants.TOKEN_REQUEST_PARAMETER_GRANT_TYPE,
+              AuthorizationGrantType.CLIENT_CREDENTIALS.getValue());
 
-    // try to get valid token from tokenCache...
-    return Mono.defer(
-        () ->
-            tokenCache
-                .getToken(tokenKey)
-                .map(Mono::just)
-                .orElseGet(
-                    () -> { // ...otherwise retrieve a new one, coalescing concurrent requests
-                      MultiValueMap<String, String> requestParameter = new LinkedMultiValueMap<>();
-                      requestParameter.add(Constants.TOKEN_REQUEST_PARAMETER_CLIENT_ID, clientID);
-                      requestParameter.add(
-                          Constants.TOKEN_REQUEST_PARAMETER_CLIENT_SECRET, clientSecret);
-                      requestParameter.add(
-                          Constants.TOKEN_REQUEST_PARAMETER_GRANT_TYPE,
-                          AuthorizationGrantType.CLIENT_CREDENTIALS.getValue());
-
-                      if (StringUtils.isNotBlank(scope)) {
-                        requestParameter.add(Constants.TOKEN_REQUEST_PARAMETER_SCOPE, scope);
-                      }
-
-                      return getOrCreateInFlightRequest(
-                          tokenEndpoint, tokenKey, requestParameter, null);
-                    }));
+          if (StringUtils.isNotBlank(scope)) {
+            requestParameter.add(Constants.TOKEN_REQUEST_PARAMETER_SCOPE, scope);
+          }
+
+          return getOrCreateInFlightRequest(tokenEndpoint, tokenKey, requestParameter, null);
+        });
   }
 
   public Mono<TokenInfo> getAccessTokenWithOauthCredentialsObject(
-      String tokenEndpoint, OauthCredentials oauthCredentials) {
+      TokenCacheKey tokenKey, String tokenEndpoint, OauthCredentials oauthCredentials) {
+
+    // try to get valid token from tokenCache, otherwise retrieve a new one
+    return getCachedOrFetch(
+        tokenKey,
+        () -> {
+          MultiValueMap<String, String> requestParameter = new LinkedMultiValueMap<>();
+          String basicAuth = null;
+
+          if (StringUtils.isNotBlank(oauthCredentials.getClientKey())) {
+            requestParameter.add(
+                Constants.TOKEN_REQUEST_PARAMETER_CLIENT_ID, oauthCredentials.getClientId());
+            requestParameter.add(
+                Constants.TOKEN_REQUEST_PARAMETER_CLIENT_ASSERTION,
+                createJwtTokenForExternalIdp(tokenEndpoint, oauthCredentials));
+            requestParameter.add(
+                Constants.TOKEN_REQUEST_PARAMETER_CLIENT_ASSERTION_TYPE,
+                Constants.TOKEN_REQUEST_PARAMETER_CLIENT_ASSERTION_TYPE_JWT);
+          }
+
+          if (StringUtils.isNotBlank(oauthCredentials.getClientId())
+              && StringUtils.isNotBlank(oauthCredentials.getClientSecret())) {
+
+            if (StringUtils.isNotBlank(oauthCredentials.getTokenRequest())
+                && StringUtils.equalsIgnoreCase(
+                    TOKEN_REQUEST_METHOD_POST, oauthCredentials.getTokenRequest())) {
+              requestParameter.add(
+                  Constants.TOKEN_REQUEST_PARAMETER_CLIENT_ID, oauthCredentials.getClientId());
+              requestParameter.add(
+                  Constants.TOKEN_REQUEST_PARAMETER_CLIENT_SECRET,
+                  oauthCredentials.getClientSecret());
+            } else {
+              basicAuth =
+                  BasicAuthUtil.encodeBasicAuth(
+                      oauthCredentials.getClientId(), oauthCredentials.getClientSecret());
+            }
+          }
+
+          if (StringUtils.isNotBlank(oauthCredentials.getUsername())
+              && StringUtils.isNotBlank(oauthCredentials.getPassword())) {
+
+            requestParameter.add(
+                Constants.TOKEN_REQUEST_PARAMETER_USERNAME, oauthCredentials.getUsername());
+            requestParameter.add(
+                Constants.TOKEN_REQUEST_PARAMETER_PASSWORD, oauthCredentials.getPassword());
+          }
+
+          if (StringUtils.isNotBlank(oauthCredentials.getRefreshToken())) {
+            requestParameter.add(
+                Constants.TOKEN_REQUEST_PARAMETER_REFRESH_TOKEN,
+                oauthCredentials.getRefreshToken());
+          }
+
+          if (StringUtils.isNotEmpty(oauthCredentials.getScopes())) {
+            requestParameter.add(
+                Constants.TOKEN_REQUEST_PARAMETER_SCOPE, oauthCredentials.getScopes());
+          }
 
-    final String tokenKey = tokenCache.generateTokenCacheKey(tokenEndpoint, oauthCredentials);
+          requestParameter.add(
+              Constants.TOKEN_REQUEST_PARAMETER_GRANT_TYPE, oauthCredentials.getGrantType());
 
-    // try to get valid token from tokenCache...
+          return getOrCreateInFlightRequest(tokenEndpoint, tokenKey, requestParameter, basicAuth);
+        });
+  }
+
+  /**
+   * Returns the cached token or fetches a new one. A cached token that is due for refresh-ahead is
+   * still returned, while a new one is fetched in the background.
+   */
+  private Mono<TokenInfo> getCachedOrFetch(
+      TokenCacheKey tokenKey, Supplier<Mono<TokenInfo>> fetch) {
     return Mono.defer(
-        () ->
-            tokenCache
-                .getToken(tokenKey)
-                .map(Mono::just)
-                .orElseGet(
-                    () -> { // ...otherwise retrieve a new one, coalescing concurrent requests
-                      MultiValueMap<String, String> requestParameter = new LinkedMultiValueMap<>();
-                      String basicAuth = null;
-
-                      if (StringUtils.isNotBlank(oauthCredentials.getClientKey())) {
-                        requestParameter.add(
-                            Constants.TOKEN_REQUEST_PARAMETER_CLIENT_ID,
-                            oauthCredentials.getClientId());
-                        requestParameter.add(
-                            Constants.TOKEN_REQUEST_PARAMETER_CLIENT_ASSERTION,
-                            createJwtTokenForExternalIdp(tokenEndpoint, oauthCredentials));
-                        requestParameter.add(
-                            Constants.TOKEN_REQUEST_PARAMETER_CLIENT_ASSERTION_TYPE,
-                            Constants.TOKEN_REQUEST_PARAMETER_CLIENT_ASSERTION_TYPE_JWT);
-                      }
-
-                      if (StringUtils.isNotBlank(oauthCredentials.getClientId())
-                          && StringUtils.isNotBlank(oauthCredentials.getClientSecret())) {
-
-                        if (StringUtils.isNotBlank(oauthCredentials.getTokenRequest())
-                            && StringUtils.equalsIgnoreCase(
-                                TOKEN_REQUEST_METHOD_POST, oauthCredentials.getTokenRequest())) {
-                          requestParameter.add(
-                              Constants.TOKEN_REQUEST_PARAMETER_CLIENT_ID,
-                              oauthCredentials.getClientId());
-                          requestParameter.add(
-                              Constants.TOKEN_REQUEST_PARAMETER_CLIENT_SECRET,
-                              oauthCredentials.getClientSecret());
-                        } else {
-                          basicAuth =
-                              BasicAuthUtil.encodeBasicAuth(
-                                  oauthCredentials.getClientId(),
-                                  oauthCredentials.getClientSecret());
-                        }
-                      }
-
-                      if (StringUtils.isNotBlank(oauthCredentials.getUsername())
-                          && StringUtils.isNotBlank(oauthCredentials.getPassword())) {
-
-                        requestParameter.add(
-                            Constants.TOKEN_REQUEST_PARAMETER_USERNAME,
-                            oauthCredentials.getUsername());
-                        requestParameter.add(
-                            Constants.TOKEN_REQUEST_PARAMETER_PASSWORD,
-                            oauthCredentials.getPassword());
-                      }
-
-                      if (StringUtils.isNotBlank(oauthCredentials.getRefreshToken())) {
-                        requestParameter.add(
-                            Constants.TOKEN_REQUEST_PARAMETER_REFRESH_TOKEN,
-                            oauthCredentials.getRefreshToken());
-                      }
-
-                      if (StringUtils.isNotEmpty(oauthCredentials.getScopes())) {
-                        requestParameter.add(
-                            Constants.TOKEN_REQUEST_PARAMETER_SCOPE, oauthCredentials.getScopes());
-                      }
-
-                      requestParameter.add(
-                          Constants.TOKEN_REQUEST_PARAMETER_GRANT_TYPE,
-                          oauthCredentials.getGrantType());
-
-                      return getOrCreateInFlightRequest(
-                          tokenEndpoint, tokenKey, requestParameter, basicAuth);
-                    }));
+        () -> {
+          Optional<TokenInfo> cachedToken = tokenCache.getToken(tokenKey);
+          tokenMetrics.recordLookup(tokenKey, cachedToken.isPresent());
+          return cachedToken
+              .map(
+                  token -> {
+                    if (tokenCache.isRefreshAheadDue(token)) {
+                      refreshInBackground(tokenKey, token, fetch);
+                    }
+                    return Mono.just(token);
+                  })
+              .orElseGet(() -> fetchUnlessBackingOff(tokenKey, fetch));
+        });
+  }
+
+  /** Fails fast with the cached failure while the token endpoint is backing off. */
+  private Mono<TokenInfo> fetchUnlessBackingOff(
+      TokenCacheKey tokenKey, Supplier<Mono<TokenInfo>> fetch) {
+    return tokenFetchBackoff
+        .suppressedFailure(tokenKey)
+        .<Mono<TokenInfo>>map(Mono::error)
+        .orElseGet(fetch);
+  }
+
+  private void refreshInBackground(
+      TokenCacheKey tokenKey, TokenInfo cachedToken, Supplier<Mono<TokenInfo>> fetch) {
+    // one refresh per key, requests arriving meanwhile keep using the cached token
+    if (!refreshesInProgress.add(tokenKey)) {
+      return;
+    }
+    log.debug("Refreshing token ahead of expiry for key: {}", tokenKey);
+    Mono.defer(() -> fetchUnlessBackingOff(tokenKey, fetch))
+        .doFinally(signal -> refreshesInProgress.remove(tokenKey))
+        .subscribe(
+            refreshedToken -> {
+              meterRegistry.counter(TOKEN_REFRESH_METRIC, "result", "success").increment();
+              long leadMillis = cachedToken.getExpiration().getTime() - System.currentTimeMillis();
+              meterRegistry
+                  .timer(TOKEN_REFRESH_METRIC + ".lead")
+                  .record(Math.max(0, leadMillis), TimeUnit.MILLISECONDS);
+            },
+            throwable -> {
+              meterRegistry.counter(TOKEN_REFRESH_METRIC, "result", "failure").increment();
+              log.warn(
+                  "Refresh-ahead failed for key {}, keeping cached token: {}",
+                  tokenKey,
+                  throwable.getMessage());
+            });
   }
 
   private String createJwtTokenForExternalIdp(
@@ -195,22 +245,38 @@ public class TokenFetchService {
 
   private Mono<TokenInfo> getOrCreateInFlightRequest(
       String tokenEndpoint,
-      String tokenKey,
+      TokenCacheKey tokenKey,
       MultiValueMap<String, String> formData,
       String basicAuthHeader) {
-    return inFlightTokenRequests.computeIfAbsent(
+    return inFlightTokenRequests.join(
         tokenKey,
-        k -> {
-          log.debug("Creating new token request for key: {}", tokenKey);
-          return getAccessTokenQuery(tokenEndpoint, tokenKey, formData, basicAuthHeader)
-              .doFinally(signal -> inFlightTokenRequests.remove(tokenKey))
-              .cache();
+        () ->
+            tokenCache
+                .loadThroughSharedCache(
+                    tokenKey,
+                    timed(
+                        tokenKey,
+                        getAccessTokenQuery(tokenEndpoint, tokenKey, formData, basicAuthHeader)))
+                .doOnSuccess(token -> tokenFetchBackoff.recordSuccess(tokenKey))
+                .doOnError(throwable -> tokenFetchBackoff.recordFailure(tokenKey, throwable)));
+  }
+
+  private Mono<TokenInfo> timed(TokenCacheKey tokenKey, Mono<TokenInfo> tokenRequest) {
+    return Mono.defer(
+        () -> {
+          long start = System.nanoTime();
+          return tokenRequest
+              .doOnSuccess(
+                  token -> tokenMetrics.recordFetch(tokenKey, System.nanoTime() - start, "success"))
+              .doOnError(
+                  throwable ->
+                      tokenMetrics.recordFetch(tokenKey, System.nanoTime() - start, "failure"));
         });
   }
 
   private Mono<TokenInfo> getAccessTokenQuery(
       String tokenEndpoint,
-      String tokenKey,
+      TokenCacheKey tokenKey,
       MultiValueMap<String, String> formData,
       String basicAuthHeader) {
 
@@ -307,7 +373,7 @@ public class TokenFetchService {
         .doOnNext(tokenInfo -> tokenCache.saveToken(tokenKey, tokenInfo));
   }
 
-  private void logClientErrorResponse(ClientResponse response, String tokenKey) {
+  private void logClientErrorResponse(ClientResponse response, TokenCacheKey tokenKey) {
     response
         .bodyToMono(String.class)
         .publishOn(Schedulers.boundedElastic())
@@ -4,17 +4,32 @@
 
 package jumper.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.EdECKey;
 import java.security.interfaces.RSAKey;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import jumper.Constants;
+import jumper.model.ConsumerTokenClaims;
 import jumper.model.config.JumperConfig;
 import jumper.model.config.KeyInfo;
 import jumper.util.OauthTokenUtil;
 import jumper.util.RsaUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -24,25 +39,92 @@ import org.springframework.web.server.ResponseStatusException;
 @RequiredArgsConstructor
 public class TokenGeneratorService {
 
+  // Signed LMS tokens only depend on the consumer token, the request context and the signing key,
+  // so they are reused until the consumer token (and with it the LMS token) expires.
+  private static final int LMS_TOKEN_CACHE_MAX_SIZE = 10_000;
+
+  // Publisher tokens only differ by realm. They are re-signed after 80% of their lifetime, so a
+  // handed out token is still valid for at least a minute.
+  private static final Duration PUBLISHER_TOKEN_LIFETIME = Duration.ofMinutes(5);
+  private static final Duration PUBLISHER_TOKEN_REFRESH_AFTER =
+      PUBLISHER_TOKEN_LIFETIME.multipliedBy(4).dividedBy(5);
+  private static final int PUBLISHER_TOKEN_CACHE_MAX_SIZE = 100;
+
+  // PEM keys of private_key_jwt clients, keyed by their SHA-256, so clients sharing a key and
+  // frequent client assertion refreshes don't parse and validate the key again
+  private static final int PARSED_KEY_CACHE_MAX_SIZE = 1_000;
+
   private final KeyInfoService keyInfoService;
 
-  private String fromRealm(Claims claims, String issuer, Date expiration, Date issuedAt) {
-    log.debug("GatewayToken or OneToken: Loading keyInfo");
-    KeyInfo keyInfo = keyInfoService.getKeyInfo();
-    return generateToken(claims, issuer, expiration, issuedAt, keyInfo);
+  private final Cache<LmsTokenCacheKey, CachedToken> lmsTokenCache =
+      Caffeine.newBuilder()
+          .maximumSize(LMS_TOKEN_CACHE_MAX_SIZE)
+          .expireAfter(new LmsTokenExpiry())
+          .recordStats()
+          .build();
+
+  private final Cache<PublisherTokenCacheKey, CachedToken> publisherTokenCache =
+      Caffeine.newBuilder()
+          .maximumSize(PUBLISHER_TOKEN_CACHE_MAX_SIZE)
+          .expireAfterWrite(PUBLISHER_TOKEN_REFRESH_AFTER)
+          .recordStats()
+          .build();
+
+  private final Cache<String, ParsedKey> parsedKeyCache =
+      Caffeine.newBuilder().maximumSize(PARSED_KEY_CACHE_MAX_SIZE).recordStats().build();
+
+  /** The caches by metric name, for binding them to Micrometer, see {@code CachingConfig}. */
+  public Map<String, Cache<?, ?>> getCaches() {
+    return Map.of(
+        "cache-lms-token", lmsTokenCache,
+        "cache-publisher-token", publisherTokenCache,
+        "cache-parsed-client-key", parsedKeyCache);
+  }
+
+  @EventListener
+  public void onKeyRotated(KeyRotatedEvent event) {
+    log.info("Signing key rotated (kid {}), dropping cached gateway tokens", event.kid());
+    lmsTokenCache.invalidateAll();
+    publisherTokenCache.invalidateAll();
   }
 
   private String fromKey(Claims claims, String issuer, Date expiration, Date issuedAt, String key) {
+    ParsedKey parsedKey = parsedKeyCache.get(sha256(key), digest -> parseKey(key));
 
     KeyInfo keyInfo = new KeyInfo();
+    keyInfo.setPk(parsedKey.privateKey());
+
+    return generateToken(claims, issuer, expiration, issuedAt, keyInfo, parsedKey.algorithm());
+  }
+
+  /**
+   * Parses and validates a PEM key. Client assertions are signed RS256, so only RSA keys are
+   * accepted. Invalid keys are rejected with 401 and not cached.
+   */
+  private static ParsedKey parseKey(String key) {
+    PrivateKey privateKey;
     try {
-      keyInfo.setPk(RsaUtils.getPrivateKey(key));
+      privateKey = RsaUtils.getPrivateKey(key);
     } catch (Exception e) {
       throw new ResponseStatusException(
           HttpStatus.UNAUTHORIZED, "Invalid key configuration: " + e.getMessage());
     }
+    if (!(privateKey instanceof RSAKey)) {
+      throw new ResponseStatusException(
+          HttpStatus.UNAUTHORIZED,
+          "Invalid key configuration: expected an RSA key, got " + privateKey.getAlgorithm());
+    }
+    assertKeyStrongEnoughForRs256(privateKey);
+    return new ParsedKey(privateKey, Jwts.SIG.RS256);
+  }
 
-    return generateToken(claims, issuer, expiration, issuedAt, keyInfo);
+  private static String sha256(String value) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
   }
 
   public String createJwtTokenFromKey(
@@ -52,20 +134,26 @@ public class TokenGeneratorService {
 
   private String generateToken(
       Claims claims, String issuer, Date expiration, Date issuedAt, KeyInfo key) {
-    // Enforce RFC 7518 (Section 3.3) up front: RS256 requires RSA keys >= 2048 bits. jjwt surfaces
-    // a too-weak key as a SignatureException at signing time; checking here keeps the 401 mapping
-    // explicit and independent of jjwt's internal exception type.
-    assertKeyStrongEnoughForRs256(key.getPk());
+    return generateToken(
+        claims, issuer, expiration, issuedAt, key, signatureAlgorithmFor(key.getPk()));
+  }
 
+  private String generateToken(
+      Claims claims,
+      String issuer,
+      Date expiration,
+      Date issuedAt,
+      KeyInfo key,
+      SignatureAlgorithm algorithm) {
     JwtBuilder builder =
         Jwts.builder()
             .claims(claims)
             .issuer(issuer)
             .expiration(expiration)
             .issuedAt(issuedAt)
-            .signWith(key.getPk(), Jwts.SIG.RS256);
+            .signWith(key.getPk(), algorithm);
 
-    // Preserve the historical header shape: {"typ":"JWT","alg":"RS256"} (+ "kid" when present).
+    // Preserve the historical header shape: {"typ":"JWT","alg":...} (+ "kid" when present).
     // A null kid (e.g. the external-IDP client assertion signed via fromKey) must be omitted.
     var header = builder.header().add("typ", "JWT");
     if (Objects.nonNull(key.getKid())) {
@@ -75,6 +163,36 @@ public class TokenGeneratorService {
     return header.and().compact();
   }
 
+  /**
+   * Picks the JWS algorithm of gateway tokens from the type of the signing key: RS256 for RSA,
+   * ES256/ES384/ES512 for EC keys on the matching NIST curve and EdDSA for Ed25519/Ed448 keys.
+   */
+  private static SignatureAlgorithm signatureAlgorithmFor(PrivateKey key) {
+    if (key instanceof RSAKey) {
+      // Enforce RFC 7518 (Section 3.3) up front: RS256 requires RSA keys >= 2048 bits. jjwt
+      // surfaces a too-weak key as a SignatureException at signing time; checking here keeps the
+      // 401 mapping explicit and independent of jjwt's internal exception type.
+      assertKeyStrongEnoughForRs256(key);
+      return Jwts.SIG.RS256;
+    }
+    if (key instanceof ECKey ecKey) {
+      int fieldSize = ecKey.getParams().getCurve().getField().getFieldSize();
+      return switch (fieldSize) {
+        case 256 -> Jwts.SIG.ES256;
+        case 384 -> Jwts.SIG.ES384;
+        case 521 -> Jwts.SIG.ES512;
+        default ->
+            throw new ResponseStatusException(
+                HttpStatus.UNAUTHORIZED, "Unsupported EC key size: " + fieldSize + " bits");
+      };
+    }
+    if (key instanceof EdECKey) {
+      return Jwts.SIG.EdDSA;
+    }
+    throw new ResponseStatusException(
+        HttpStatus.UNAUTHORIZED, "Unsupported key type: " + key.getAlgorithm());
+  }
+
   private static void assertKeyStrongEnoughForRs256(Key key) {
     if (key instanceof RSAKey rsaKey && rsaKey.getModulus().bitLength() < 2048) {
       throw new ResponseStatusException(
@@ -101,13 +219,118 @@ public class TokenGeneratorService {
       String publisherId,
       String subscriberId) {
 
-    Jwt<?, Claims> authorizationTokenClaims =
-        OauthTokenUtil.getAllClaimsFromToken(jc.getAuthorizationToken());
+    ConsumerTokenClaims authorizationTokenClaims =
+        OauthTokenUtil.getConsumerTokenClaims(jc.getAuthorizationToken());
+    KeyInfo keyInfo = keyInfoService.getKeyInfo();
+    LmsTokenCacheKey cacheKey =
+        lmsTokenCacheKey(
+            jc,
+            azp,
+            operation,
+            issuer,
+            publisherId,
+            subscriberId,
+            authorizationTokenClaims,
+            keyInfo);
+    // another request may have signed the same token while this one waited for the signing pool
+    Optional<String> cachedToken = findCachedLmsToken(cacheKey, keyInfo);
+    if (cachedToken.isPresent()) {
+      return cachedToken.get();
+    }
+
+    String token =
+        signLmsToken(
+            jc,
+            azp,
+            operation,
+            issuer,
+            publisherId,
+            subscriberId,
+            authorizationTokenClaims,
+            keyInfo);
+    if (cacheKey != null) {
+      lmsTokenCache.put(cacheKey, new CachedToken(keyInfo, token));
+    }
+    return token;
+  }
+
+  /** The LMS token cached for the request, looked up without signing anything. */
+  private Optional<String> findCachedLmsToken(
+      JumperConfig jc,
+      String azp,
+      String operation,
+      String issuer,
+      String publisherId,
+      String subscriberId) {
+
+    KeyInfo keyInfo = keyInfoService.getKeyInfo();
+    LmsTokenCacheKey cacheKey =
+        lmsTokenCacheKey(
+            jc,
+            azp,
+            operation,
+            issuer,
+            publisherId,
+            subscriberId,
+            OauthTokenUtil.getConsumerTokenClaims(jc.getAuthorizationToken()),
+            keyInfo);
+    return findCachedLmsToken(cacheKey, keyInfo);
+  }
+
+  private Optional<String> findCachedLmsToken(LmsTokenCacheKey cacheKey, KeyInfo keyInfo) {
+    CachedToken cached = cacheKey != null ? lmsTokenCache.getIfPresent(cacheKey) : null;
+    // a token signed with a key that got replaced in the meantime must not be handed out
+    if (Objects.isNull(cached) || cached.keyInfo() != keyInfo) {
+      return Optional.empty();
+    }
+    return Optional.of(cached.token());
+  }
+
+  private static LmsTokenCacheKey lmsTokenCacheKey(
+      JumperConfig jc,
+      String azp,
+      String operation,
+      String issuer,
+      String publisherId,
+      String subscriberId,
+      ConsumerTokenClaims authorizationTokenClaims,
+      KeyInfo keyInfo) {
+
+    if (Objects.isNull(authorizationTokenClaims.expiration())) {
+      // nothing bounds the lifetime of such a token, so it is not cached
+      return null;
+    }
+    return new LmsTokenCacheKey(
+        keyInfo.getKid(),
+        azp,
+        operation,
+        issuer,
+        publisherId,
+        subscriberId,
+        jc.getConsumer(),
+        jc.getConsumerOriginZone(),
+        jc.getConsumerOriginStargate(),
+        jc.getRequestPath(),
+        jc.getEnvName(),
+        jc.getSecurityScopes(),
+        authorizationTokenClaims,
+        List.copyOf(authorizationTokenClaims.audience()));
+  }
+
+  private String signLmsToken(
+      JumperConfig jc,
+      String azp,
+      String operation,
+      String issuer,
+      String publisherId,
+      String subscriberId,
+      ConsumerTokenClaims authorizationTokenClaims,
+      KeyInfo keyInfo) {
 
-    Date issuedAt = authorizationTokenClaims.getPayload().getIssuedAt();
-    Date expiration = authorizationTokenClaims.getPayload().getExpiration();
-    String sub = authorizationTokenClaims.getPayload().get(Constants.TOKEN_CLAIM_SUB, String.class);
-    Set<String> audiences = authorizationTokenClaims.getPayload().getAudience();
+    Date issuedAt = toDate(authorizationTokenClaims.issuedAt());
+    Date expiration = toDate(authorizationTokenClaims.expiration());
+    String sub = authorizationTokenClaims.subject();
+    Set<String> audiences = authorizationTokenClaims.audience();
 
     ClaimsBuilder claims =
         Jwts.claims()
@@ -155,7 +378,7 @@ public class TokenGeneratorService {
       claims.audience().single(subscriberId);
     }
 
-    return fromRealm(claims.build(), issuer, expiration, issuedAt);
+    return generateToken(claims.build(), issuer, expiration, issuedAt, keyInfo);
   }
 
   /**
@@ -169,6 +392,15 @@ public class TokenGeneratorService {
     return generateLmsToken(jc, "stargate", operation, issuer, publisherId, subscriberId);
   }
 
+  /**
+   * The cached provider-facing LMS token for the request, if any. Cheap enough for the event loop,
+   * only a miss needs {@link #generateProviderLmsToken} on the signing pool.
+   */
+  public Optional<String> findCachedProviderLmsToken(
+      JumperConfig jc, String operation, String issuer, String publisherId, String subscriberId) {
+    return findCachedLmsToken(jc, "stargate", operation, issuer, publisherId, subscriberId);
+  }
+
   /**
    * Generates a mesh LMS token with {@code azp: "gateway"}.
    *
@@ -179,7 +411,32 @@ public class TokenGeneratorService {
     return generateLmsToken(jc, "gateway", operation, issuer, null, null);
   }
 
+  /** The cached mesh LMS token for the request, if any, see {@link #findCachedProviderLmsToken}. */
+  public Optional<String> findCachedMeshLmsToken(JumperConfig jc, String operation, String issuer) {
+    return findCachedLmsToken(jc, "gateway", operation, issuer, null, null);
+  }
+
+  /**
+   * Returns the gateway token used to publish to Horizon. The token is shared by all events of a
+   * realm and re-signed once 80% of its lifetime has passed or the signing key got rotated.
+   */
   public String generateGatewayTokenForPublisher(String issuer, String realm) {
+    KeyInfo keyInfo = keyInfoService.getKeyInfo();
+    PublisherTokenCacheKey cacheKey = new PublisherTokenCacheKey(issuer, realm);
+
+    CachedToken cached =
+        publisherTokenCache.get(
+            cacheKey, k -> new CachedToken(keyInfo, signPublisherToken(issuer, keyInfo)));
+    // a token signed with a key that got replaced in the meantime must not be handed out
+    if (cached.keyInfo() != keyInfo) {
+      cached = new CachedToken(keyInfo, signPublisherToken(issuer, keyInfo));
+      publisherTokenCache.put(cacheKey, cached);
+    }
+    return cached.token();
+  }
+
+  private String signPublisherToken(String issuer, KeyInfo keyInfo) {
+    log.debug("Signing gateway token for publisher with issuer {}", issuer);
     Claims claims =
         Jwts.claims()
             .add(Constants.TOKEN_CLAIM_TYP, "Bearer")
@@ -187,10 +444,64 @@ public class TokenGeneratorService {
             .add(Constants.TOKEN_CLAIM_CLIENT_ID, "gateway")
             .build();
 
-    return fromRealm(
+    long now = System.currentTimeMillis();
+    return generateToken(
         claims,
         issuer,
-        new Date(System.currentTimeMillis() + 300 * 1000),
-        new Date(System.currentTimeMillis()));
+        new Date(now + PUBLISHER_TOKEN_LIFETIME.toMillis()),
+        new Date(now),
+        keyInfo);
+  }
+
+  private static Date toDate(Instant instant) {
+    return instant == null ? null : Date.from(instant);
+  }
+
+  /** Everything that ends up in a signed LMS token. */
+  private record LmsTokenCacheKey(
+      String kid,
+      String azp,
+      String operation,
+      String issuer,
+      String publisherId,
+      String subscriberId,
+      String consumer,
+      String consumerOriginZone,
+      String consumerOriginStargate,
+      String requestPath,
+      String envName,
+      String securityScopes,
+      ConsumerTokenClaims consumerTokenClaims,
+      // set equality of the claims ignores the order, but the order is kept in the token
+      List<String> audienceOrder) {}
+
+  /** The issuer is derived from the realm, but both are passed in by the callers. */
+  private record PublisherTokenCacheKey(String issuer, String realm) {}
+
+  private record CachedToken(KeyInfo keyInfo, String token) {}
+
+  private record ParsedKey(PrivateKey privateKey, SignatureAlgorithm algorithm) {}
+
+  /** Expires a cached LMS token together with the consumer token it was derived from. */
+  private static final class LmsTokenExpiry implements Expiry<LmsTokenCacheKey, CachedToken> {
+
+    @Override
+    public long expireAfterCreate(LmsTokenCacheKey key, CachedToken value, long currentTime) {
+      long millisUntilExpiration =
+          key.consumerTokenClaims().expiration().toEpochMilli() - System.currentTimeMillis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisUntilExpiration));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        LmsTokenCacheKey key, CachedToken value, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        LmsTokenCacheKey key, CachedToken value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
   }
 }
@@ -0,0 +1,123 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import jumper.model.TokenCacheKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Metrics of the external IdP token handling, tagged by token endpoint host. Only the first {@code
+ * maxHostTags} hosts get their own tag value, any further host is reported as {@value #OTHER_HOST},
+ * so a tenant configuring many token endpoints can't blow up the number of time series.
+ */
+@Component
+public class TokenMetrics {
+
+  static final String TOKEN_FETCH_METRIC = "jumper.tokenfetch.duration";
+  static final String COALESCING_METRIC = "jumper.tokenfetch.coalescing";
+  static final String CACHE_LOOKUP_METRIC = "jumper.tokencache.lookups";
+  static final String EVICTION_METRIC = "jumper.tokencache.evictions";
+  static final String OTHER_HOST = "other";
+
+  private static final String TAG_HOST = "host";
+  // token endpoints whose host is remembered, beyond that the host is parsed on every call
+  private static final int MAX_REMEMBERED_ENDPOINTS = 1_000;
+
+  private final MeterRegistry meterRegistry;
+  private final int maxHostTags;
+  private final Set<String> taggedHosts = ConcurrentHashMap.newKeySet();
+  private final Map<String, String> hostTagByEndpoint = new ConcurrentHashMap<>();
+
+  public TokenMetrics(
+      MeterRegistry meterRegistry, @Value("${jumper.metrics.maxHostTags:50}") int maxHostTags) {
+    this.meterRegistry = meterRegistry;
+    this.maxHostTags = maxHostTags;
+  }
+
+  /** Records the duration of a token request to the IdP, {@code outcome} is success or failure. */
+  public void recordFetch(TokenCacheKey tokenKey, long durationNanos, String outcome) {
+    Timer.builder(TOKEN_FETCH_METRIC)
+        .description("Duration of token requests to the IdP token endpoint")
+        .tag(TAG_HOST, hostTag(tokenKey))
+        .tag("outcome", outcome)
+        .register(meterRegistry)
+        .record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Counts a token request that either started a fetch ({@code originated}) or waited for one
+   * already in flight for the same key ({@code joined}).
+   */
+  public void recordCoalescing(TokenCacheKey tokenKey, boolean originated) {
+    meterRegistry
+        .counter(
+            COALESCING_METRIC,
+            TAG_HOST,
+            hostTag(tokenKey),
+            "result",
+            originated ? "originated" : "joined")
+        .increment();
+  }
+
+  /** Counts a token cache lookup, the hit ratio per host is hit / (hit + miss). */
+  public void recordLookup(TokenCacheKey tokenKey, boolean hit) {
+    meterRegistry
+        .counter(CACHE_LOOKUP_METRIC, TAG_HOST, hostTag(tokenKey), "result", hit ? "hit" : "miss")
+        .increment();
+  }
+
+  /** Counts a cached token evicted because the upstream rejected it with {@code status}. */
+  public void recordEviction(TokenCacheKey tokenKey, int status) {
+    meterRegistry
+        .counter(EVICTION_METRIC, TAG_HOST, hostTag(tokenKey), "status", String.valueOf(status))
+        .increment();
+  }
+
+  String hostTag(TokenCacheKey tokenKey) {
+    String endpoint = tokenKey.getTokenEndpoint();
+    if (endpoint == null) {
+      return OTHER_HOST;
+    }
+    String hostTag = hostTagByEndpoint.get(endpoint);
+    if (hostTag == null) {
+      hostTag = boundedHostTag(hostOf(endpoint));
+      if (hostTagByEndpoint.size() < MAX_REMEMBERED_ENDPOINTS) {
+        hostTagByEndpoint.put(endpoint, hostTag);
+      }
+    }
+    return hostTag;
+  }
+
+  private String boundedHostTag(String host) {
+    if (host == null) {
+      return OTHER_HOST;
+    }
+    if (taggedHosts.contains(host)) {
+      return host;
+    }
+    // may admit a few hosts more than maxHostTags under contention, which is fine
+    if (taggedHosts.size() < maxHostTags) {
+      taggedHosts.add(host);
+      return host;
+    }
+    return OTHER_HOST;
+  }
+
+  private static String hostOf(String endpoint) {
+    try {
+      return URI.create(endpoint).getHost();
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
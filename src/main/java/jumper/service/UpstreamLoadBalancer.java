@@ -0,0 +1,90 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import java.util.List;
+import jumper.model.config.LoadBalancing;
+import jumper.model.config.LoadBalancingStrategy;
+import jumper.model.config.Server;
+import jumper.util.AliasTable;
+import jumper.util.HashRing;
+import jumper.util.LoadBalancingUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Picks the upstream of a {@code jc.loadBalancing} route by the strategy configured for it, among
+ * the servers the {@link UpstreamOutlierDetector} doesn't currently eject.
+ *
+ * <p>Picks use the {@link AliasTable} or {@link HashRing} kept with the server list of the cached
+ * config template, only a list adjusted for ejected servers gets an alias table of its own per
+ * request. The hash ring stays the same, ejected servers are skipped on it instead.
+ */
+@Service
+public class UpstreamLoadBalancer {
+
+  private final UpstreamLoadRegistry upstreamLoadRegistry;
+  private final UpstreamOutlierDetector upstreamOutlierDetector;
+  private final double hashLoadFactor;
+
+  public UpstreamLoadBalancer(
+      UpstreamLoadRegistry upstreamLoadRegistry,
+      UpstreamOutlierDetector upstreamOutlierDetector,
+      @Value("${jumper.loadbalancing.consistentHash.loadFactor:1.25}") double hashLoadFactor) {
+    this.upstreamLoadRegistry = upstreamLoadRegistry;
+    this.upstreamOutlierDetector = upstreamOutlierDetector;
+    this.hashLoadFactor = hashLoadFactor;
+  }
+
+  /**
+   * @param hashKey key of the request for strategy consistentHash, without one the upstream is
+   *     picked at random by weight
+   */
+  public String chooseUpstream(LoadBalancing loadBalancing, String hashKey) {
+    List<Server> servers = upstreamOutlierDetector.availableServers(loadBalancing.getServers());
+    boolean adjusted = servers != loadBalancing.getServers();
+
+    if (hashKey != null && loadBalancing.getStrategy() == LoadBalancingStrategy.CONSISTENT_HASH) {
+      return consistentHash(loadBalancing.getHashRing(), hashKey, adjusted);
+    }
+
+    AliasTable aliasTable = adjusted ? AliasTable.of(servers) : loadBalancing.getAliasTable();
+    return switch (loadBalancing.getStrategy()) {
+      case LEAST_LOADED ->
+          LoadBalancingUtil.calculateLeastLoadedUpstream(
+              aliasTable, upstreamLoadRegistry::compareLoad);
+      case RANDOM, CONSISTENT_HASH -> LoadBalancingUtil.calculateUpstream(aliasTable);
+    };
+  }
+
+  /**
+   * Consistent hashing with bounded load: walking the ring from the key, the first server that
+   * isn't ejected and has less than {@code hashLoadFactor} times its share of the outstanding
+   * requests, counting this one, is picked.
+   */
+  private String consistentHash(HashRing hashRing, String hashKey, boolean ejecting) {
+    int outstanding = 0;
+    if (hashLoadFactor > 0) {
+      for (int server = 0; server < hashRing.size(); server++) {
+        outstanding += upstreamLoadRegistry.getOutstanding(hashRing.upstream(server));
+      }
+    }
+    int total = outstanding + 1;
+
+    int server =
+        hashRing.locate(
+            hashKey,
+            candidate -> {
+              String upstream = hashRing.upstream(candidate);
+              if (ejecting && upstreamOutlierDetector.isEjected(upstream)) {
+                return false;
+              }
+              return hashLoadFactor <= 0
+                  || upstreamLoadRegistry.getOutstanding(upstream)
+                      < Math.ceil(hashLoadFactor * total * hashRing.share(candidate));
+            });
+    return hashRing.upstream(server);
+  }
+}
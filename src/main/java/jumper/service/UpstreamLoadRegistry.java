@@ -0,0 +1,124 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Load of the upstreams picked from {@code jc.loadBalancing}: the requests currently outstanding
+ * and an EWMA of their latency. Updated lock-free, the UpstreamTrackingFilter starts and finishes
+ * every request routed to such an upstream.
+ *
+ * <p>At most {@code maxUpstreams} upstreams are tracked. When that is reached idle ones are
+ * dropped, and if none is idle further upstreams are treated as unloaded.
+ */
+@Component
+public class UpstreamLoadRegistry {
+
+  private final double latencyWeight;
+  private final int maxUpstreams;
+
+  private final Map<String, UpstreamLoad> loads = new ConcurrentHashMap<>();
+
+  public UpstreamLoadRegistry(
+      @Value("${jumper.loadbalancing.latencyEwmaWeight:0.3}") double latencyWeight,
+      @Value("${jumper.loadbalancing.maxUpstreams:1000}") int maxUpstreams) {
+    this.latencyWeight = latencyWeight;
+    this.maxUpstreams = maxUpstreams;
+  }
+
+  /**
+   * Counts a request to the upstream as outstanding until {@link UpstreamLoad#finish(long)} is
+   * called on the returned load.
+   */
+  public UpstreamLoad start(String upstream) {
+    UpstreamLoad load = loads.get(upstream);
+    if (load == null) {
+      if (loads.size() >= maxUpstreams) {
+        loads.values().removeIf(UpstreamLoad::isIdle);
+      }
+      load =
+          loads.size() < maxUpstreams
+              ? loads.computeIfAbsent(upstream, key -> new UpstreamLoad())
+              : new UpstreamLoad();
+    }
+    load.outstanding.incrementAndGet();
+    return load;
+  }
+
+  /**
+   * Orders upstreams by load, less loaded first. As long as one of them has no latency yet, only
+   * their outstanding requests are compared, otherwise the outstanding requests weighted by
+   * latency.
+   */
+  public int compareLoad(String upstream, String other) {
+    UpstreamLoad load = loads.get(upstream);
+    UpstreamLoad otherLoad = loads.get(other);
+    int outstanding = load != null ? load.getOutstanding() : 0;
+    int otherOutstanding = otherLoad != null ? otherLoad.getOutstanding() : 0;
+    double latency = load != null ? load.getLatencyNanos() : 0;
+    double otherLatency = otherLoad != null ? otherLoad.getLatencyNanos() : 0;
+
+    if (latency == 0 || otherLatency == 0) {
+      return Integer.compare(outstanding, otherOutstanding);
+    }
+    return Double.compare((outstanding + 1) * latency, (otherOutstanding + 1) * otherLatency);
+  }
+
+  /** Requests to the upstream currently outstanding. */
+  public int getOutstanding(String upstream) {
+    UpstreamLoad load = loads.get(upstream);
+    return load != null ? load.getOutstanding() : 0;
+  }
+
+  UpstreamLoad get(String upstream) {
+    return loads.get(upstream);
+  }
+
+  int size() {
+    return loads.size();
+  }
+
+  public final class UpstreamLoad {
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    // EWMA of the latency in nanos as double bits, 0 until the first request finished
+    private final AtomicLong latencyBits = new AtomicLong(Double.doubleToLongBits(0));
+
+    private UpstreamLoad() {}
+
+    /** Finishes a request started by {@link #start(String)}, that took {@code latencyNanos}. */
+    public void finish(long latencyNanos) {
+      outstanding.decrementAndGet();
+      double sample = Math.max(1, latencyNanos);
+      long current;
+      long updated;
+      do {
+        current = latencyBits.get();
+        double latency = Double.longBitsToDouble(current);
+        updated =
+            Double.doubleToLongBits(
+                latency == 0 ? sample : latency + latencyWeight * (sample - latency));
+      } while (!latencyBits.compareAndSet(current, updated));
+    }
+
+    public int getOutstanding() {
+      return outstanding.get();
+    }
+
+    public double getLatencyNanos() {
+      return Double.longBitsToDouble(latencyBits.get());
+    }
+
+    private boolean isIdle() {
+      return outstanding.get() == 0;
+    }
+  }
+}
@@ -0,0 +1,270 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import jumper.model.config.Server;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Passive outlier detection for the servers of {@code jc.loadBalancing} routes, fed by the
+ * UpstreamTrackingFilter with the outcome of every request routed to them. A failure is a 5xx
+ * response or an error, e.g. a refused connection or a timeout. Failures to get a token for the
+ * upstream don't count.
+ *
+ * <ul>
+ *   <li>An upstream is ejected after {@code consecutiveFailures} failures in a row, or when at
+ *       least {@code errorRateThreshold} percent of its requests in an {@code interval} failed,
+ *       given there were at least {@code minRequests}.
+ *   <li>Ejection lasts {@code baseEjectionTime}, doubling for each further ejection up to {@code
+ *       maxEjectionTime}. The doubling starts over once an upstream went {@code maxEjectionTime}
+ *       without ejection.
+ *   <li>Back from ejection, the weight of an upstream ramps up linearly over {@code slowStart}.
+ *   <li>If all servers of a route are ejected, ejection is ignored for that route.
+ * </ul>
+ *
+ * <p>Metrics: counter {@code jumper.loadbalancing.ejections} tagged by reason, gauge {@code
+ * jumper.loadbalancing.ejected}.
+ */
+@Component
+@Slf4j
+public class UpstreamOutlierDetector {
+
+  static final String EJECTIONS_METRIC = "jumper.loadbalancing.ejections";
+  static final String EJECTED_METRIC = "jumper.loadbalancing.ejected";
+
+  // weight factor of an upstream just back from ejection, so it gets some requests at all
+  private static final double MIN_SLOW_START_FACTOR = 0.1;
+
+  private final boolean enabled;
+  private final int consecutiveFailures;
+  private final int errorRateThreshold;
+  private final int minRequests;
+  private final long intervalNanos;
+  private final long baseEjectionNanos;
+  private final long maxEjectionNanos;
+  private final long slowStartNanos;
+  private final int maxUpstreams;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, OutlierState> states = new ConcurrentHashMap<>();
+
+  public UpstreamOutlierDetector(
+      @Value("${jumper.loadbalancing.outlier.enabled:true}") boolean enabled,
+      @Value("${jumper.loadbalancing.outlier.consecutiveFailures:5}") int consecutiveFailures,
+      @Value("${jumper.loadbalancing.outlier.errorRateThreshold:50}") int errorRateThreshold,
+      @Value("${jumper.loadbalancing.outlier.minRequests:20}") int minRequests,
+      @Value("${jumper.loadbalancing.outlier.interval:10s}") Duration interval,
+      @Value("${jumper.loadbalancing.outlier.baseEjectionTime:30s}") Duration baseEjectionTime,
+      @Value("${jumper.loadbalancing.outlier.maxEjectionTime:300s}") Duration maxEjectionTime,
+      @Value("${jumper.loadbalancing.outlier.slowStart:30s}") Duration slowStart,
+      @Value("${jumper.loadbalancing.maxUpstreams:1000}") int maxUpstreams,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.consecutiveFailures = consecutiveFailures;
+    this.errorRateThreshold = errorRateThreshold;
+    this.minRequests = minRequests;
+    this.intervalNanos = interval.toNanos();
+    this.baseEjectionNanos = baseEjectionTime.toNanos();
+    this.maxEjectionNanos = Math.max(baseEjectionNanos, maxEjectionTime.toNanos());
+    this.slowStartNanos = slowStart.toNanos();
+    this.maxUpstreams = maxUpstreams;
+    this.meterRegistry = meterRegistry;
+
+    Gauge.builder(EJECTED_METRIC, this, detector -> detector.countEjected(System.nanoTime()))
+        .description("Load balanced upstreams currently ejected as outliers")
+        .register(meterRegistry);
+  }
+
+  /** Records the outcome of a request to the upstream. */
+  public void record(String upstream, boolean success) {
+    if (!enabled) {
+      return;
+    }
+    OutlierState state = states.get(upstream);
+    if (state == null) {
+      if (success) {
+        // only failing upstreams need a state
+        return;
+      }
+      state = createState(upstream);
+      if (state == null) {
+        return;
+      }
+    }
+    state.record(success, System.nanoTime());
+  }
+
+  /**
+   * The servers to balance over: ejected ones are left out and those in slow start get a reduced
+   * weight. Returns {@code servers} itself if no server is affected, or if all are ejected.
+   */
+  public List<Server> availableServers(List<Server> servers) {
+    if (!enabled || states.isEmpty()) {
+      return servers;
+    }
+    long now = System.nanoTime();
+    List<Server> available = null;
+    for (int i = 0; i < servers.size(); i++) {
+      Server server = servers.get(i);
+      double factor = weightFactor(server.getUpstream(), now);
+      if (factor == 1 && available == null) {
+        continue;
+      }
+      if (available == null) {
+        available = new ArrayList<>(servers.subList(0, i));
+      }
+      if (factor > 0) {
+        available.add(
+            factor == 1 ? server : new Server(server.getUpstream(), server.getWeight() * factor));
+      }
+    }
+    if (available == null) {
+      return servers;
+    }
+    if (available.stream().allMatch(server -> server.getWeight() == 0)) {
+      log.debug("All servers ejected, ignoring ejection: {}", servers);
+      return servers;
+    }
+    return available;
+  }
+
+  boolean isEjected(String upstream) {
+    OutlierState state = states.get(upstream);
+    return state != null && state.isEjected(System.nanoTime());
+  }
+
+  private double weightFactor(String upstream, long now) {
+    OutlierState state = states.get(upstream);
+    if (state == null) {
+      return 1;
+    }
+    long ejectedUntil = state.ejectedUntilNanos;
+    if (ejectedUntil == 0) {
+      return 1;
+    }
+    long sinceReturn = now - ejectedUntil;
+    if (sinceReturn < 0) {
+      return 0;
+    }
+    if (sinceReturn >= slowStartNanos) {
+      return 1;
+    }
+    return Math.max(MIN_SLOW_START_FACTOR, (double) sinceReturn / slowStartNanos);
+  }
+
+  private OutlierState createState(String upstream) {
+    if (states.size() >= maxUpstreams) {
+      long now = System.nanoTime();
+      states.values().removeIf(state -> state.isSettled(now));
+      if (states.size() >= maxUpstreams) {
+        return null;
+      }
+    }
+    return states.computeIfAbsent(upstream, OutlierState::new);
+  }
+
+  private int countEjected(long now) {
+    int ejected = 0;
+    for (OutlierState state : states.values()) {
+      if (state.isEjected(now)) {
+        ejected++;
+      }
+    }
+    return ejected;
+  }
+
+  private final class OutlierState {
+
+    private final String upstream;
+    private final AtomicInteger failuresInRow = new AtomicInteger();
+    private final AtomicInteger intervalRequests = new AtomicInteger();
+    private final AtomicInteger intervalFailures = new AtomicInteger();
+    private final AtomicLong intervalStartNanos;
+    // ejections since the upstream last went maxEjectionTime without one
+    private int ejections;
+    // 0 if never ejected, afterwards the end of the last ejection
+    private volatile long ejectedUntilNanos;
+
+    private OutlierState(String upstream) {
+      this.upstream = upstream;
+      this.intervalStartNanos = new AtomicLong(System.nanoTime());
+    }
+
+    private void record(boolean success, long now) {
+      if (isEjected(now)) {
+        // late outcomes of requests started before the ejection
+        return;
+      }
+      int requests = intervalRequests.incrementAndGet();
+      int failures = success ? intervalFailures.get() : intervalFailures.incrementAndGet();
+
+      if (success) {
+        failuresInRow.set(0);
+      } else if (failuresInRow.incrementAndGet() >= consecutiveFailures) {
+        eject(now, "consecutive_failures");
+        return;
+      }
+
+      long intervalStart = intervalStartNanos.get();
+      if (now - intervalStart >= intervalNanos
+          && intervalStartNanos.compareAndSet(intervalStart, now)) {
+        intervalRequests.set(0);
+        intervalFailures.set(0);
+        if (requests >= minRequests && failures * 100L >= (long) errorRateThreshold * requests) {
+          eject(now, "error_rate");
+        }
+      }
+    }
+
+    private synchronized void eject(long now, String reason) {
+      if (isEjected(now)) {
+        return;
+      }
+      if (ejectedUntilNanos == 0 || now - ejectedUntilNanos >= maxEjectionNanos) {
+        ejections = 0;
+      }
+      ejections++;
+      long ejectionNanos = baseEjectionNanos << Math.min(ejections - 1, 30);
+      if (ejectionNanos <= 0 || ejectionNanos > maxEjectionNanos) {
+        ejectionNanos = maxEjectionNanos;
+      }
+      ejectedUntilNanos = now + ejectionNanos;
+      failuresInRow.set(0);
+      intervalRequests.set(0);
+      intervalFailures.set(0);
+      intervalStartNanos.set(ejectedUntilNanos);
+
+      log.warn(
+          "Ejected upstream {} for {}ms, reason: {}",
+          upstream,
+          Duration.ofNanos(ejectionNanos).toMillis(),
+          reason);
+      meterRegistry.counter(EJECTIONS_METRIC, "reason", reason).increment();
+    }
+
+    private boolean isEjected(long now) {
+      long ejectedUntil = ejectedUntilNanos;
+      return ejectedUntil != 0 && now - ejectedUntil < 0;
+    }
+
+    /** Neither ejected nor in slow start and without failures to remember. */
+    private boolean isSettled(long now) {
+      long ejectedUntil = ejectedUntilNanos;
+      long settleNanos = Math.max(slowStartNanos, maxEjectionNanos);
+      return failuresInRow.get() == 0 && (ejectedUntil == 0 || now - ejectedUntil >= settleNanos);
+    }
+  }
+}
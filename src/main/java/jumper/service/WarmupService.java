@@ -13,6 +13,7 @@ import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import jumper.Constants;
 import jumper.config.WarmupProperties;
@@ -40,12 +41,16 @@ public class WarmupService {
 
   private final WarmupProperties warmupProperties;
   private final WarmupHealthIndicator warmupHealthIndicator;
+  private final Optional<TokenCacheSnapshotService> tokenCacheSnapshotService;
   private final KeyPair warmupKeyPair;
 
   public WarmupService(
-      WarmupProperties warmupProperties, WarmupHealthIndicator warmupHealthIndicator) {
+      WarmupProperties warmupProperties,
+      WarmupHealthIndicator warmupHealthIndicator,
+      Optional<TokenCacheSnapshotService> tokenCacheSnapshotService) {
     this.warmupProperties = warmupProperties;
     this.warmupHealthIndicator = warmupHealthIndicator;
+    this.tokenCacheSnapshotService = tokenCacheSnapshotService;
     this.warmupKeyPair = generateEcKeyPair();
   }
 
@@ -64,6 +69,9 @@ public class WarmupService {
 
   @EventListener(ApplicationReadyEvent.class)
   public void onApplicationReady() {
+    // restore IdP tokens of the previous instance first, so warmup requests already use them
+    tokenCacheSnapshotService.ifPresent(TokenCacheSnapshotService::restoreSnapshot);
+
     List<String> urls = warmupProperties.getUrls();
     if (urls == null || urls.isEmpty()) {
       log.info("Warmup: no URLs configured, skipping");
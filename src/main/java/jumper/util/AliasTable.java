@@ -0,0 +1,160 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.util;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import jumper.exception.LoadBalancingException;
+import jumper.model.config.Server;
+
+/**
+ * Vose's alias table over the servers of a {@code jc.loadBalancing} route, picks a server at random
+ * by weight in constant time and without allocating. Building it is linear in the number of
+ * servers, so a table is meant to be built once per server list and reused. Servers with weight 0
+ * are left out.
+ */
+public final class AliasTable {
+
+  // rejection attempts of pickOther before it falls back to a linear scan
+  private static final int MAX_REJECTIONS = 4;
+
+  private final String[] upstreams;
+  private final double[] weights;
+  private final double[] probabilities;
+  private final int[] aliases;
+
+  private AliasTable(String[] upstreams, double[] weights) {
+    this.upstreams = upstreams;
+    this.weights = weights;
+    this.probabilities = new double[upstreams.length];
+    this.aliases = new int[upstreams.length];
+    build();
+  }
+
+  public static AliasTable of(List<Server> servers) {
+    int weighted = 0;
+    double total = 0;
+    for (Server server : servers) {
+      double weight = server.getWeight();
+      if (weight > 0) {
+        weighted++;
+        total += weight;
+      }
+    }
+    if (total == 0) {
+      throw new LoadBalancingException("can not calculate upstream");
+    }
+
+    String[] upstreams = new String[weighted];
+    double[] weights = new double[weighted];
+    int i = 0;
+    for (Server server : servers) {
+      double weight = server.getWeight();
+      if (weight > 0) {
+        upstreams[i] = server.getUpstream();
+        weights[i++] = weight;
+      }
+    }
+    return new AliasTable(upstreams, weights);
+  }
+
+  /** Number of servers with a weight, i.e. that can be picked. */
+  public int size() {
+    return upstreams.length;
+  }
+
+  public String upstream(int index) {
+    return upstreams[index];
+  }
+
+  /** Picks the index of a server at random by weight. */
+  public int pick(ThreadLocalRandom random) {
+    int column = random.nextInt(upstreams.length);
+    return random.nextDouble() < probabilities[column] ? column : aliases[column];
+  }
+
+  /**
+   * Picks the index of a server other than {@code excluded} at random by weight. There must be at
+   * least two servers.
+   */
+  public int pickOther(int excluded, ThreadLocalRandom random) {
+    for (int attempt = 0; attempt < MAX_REJECTIONS; attempt++) {
+      int index = pick(random);
+      if (index != excluded) {
+        return index;
+      }
+    }
+
+    // the excluded server carries most of the weight, seek among the others instead
+    double remaining = 0;
+    for (int i = 0; i < weights.length; i++) {
+      if (i != excluded) {
+        remaining += weights[i];
+      }
+    }
+    double cursorTarget = random.nextDouble() * remaining;
+    double cursor = 0;
+    int last = excluded;
+    for (int i = 0; i < weights.length; i++) {
+      if (i != excluded) {
+        cursor += weights[i];
+        last = i;
+        if (cursor > cursorTarget) {
+          return i;
+        }
+      }
+    }
+    return last;
+  }
+
+  private void build() {
+    int n = upstreams.length;
+    double total = 0;
+    for (double weight : weights) {
+      total += weight;
+    }
+
+    // probabilities scaled to an average of 1, split into the columns below and above it
+    double[] scaled = new double[n];
+    int[] small = new int[n];
+    int[] large = new int[n];
+    int smallCount = 0;
+    int largeCount = 0;
+    for (int i = 0; i < n; i++) {
+      scaled[i] = weights[i] * n / total;
+      if (scaled[i] < 1) {
+        small[smallCount++] = i;
+      } else {
+        large[largeCount++] = i;
+      }
+    }
+
+    // fill each small column up to 1 with its alias, a large one
+    while (smallCount > 0 && largeCount > 0) {
+      int less = small[--smallCount];
+      int more = large[--largeCount];
+      probabilities[less] = scaled[less];
+      aliases[less] = more;
+      scaled[more] = scaled[more] + scaled[less] - 1;
+      if (scaled[more] < 1) {
+        small[smallCount++] = more;
+      } else {
+        large[largeCount++] = more;
+      }
+    }
+
+    // what is left is 1 up to rounding errors
+    while (largeCount > 0) {
+      int more = large[--largeCount];
+      probabilities[more] = 1;
+      aliases[more] = more;
+    }
+    while (smallCount > 0) {
+      int less = small[--smallCount];
+      probabilities[less] = 1;
+      aliases[less] = less;
+    }
+  }
+}
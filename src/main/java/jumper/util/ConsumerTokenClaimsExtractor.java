@@ -0,0 +1,209 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.util;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import jumper.Constants;
+import jumper.model.ConsumerTokenClaims;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.json.JsonFactory;
+
+/**
+ * Reads the {@link ConsumerTokenClaims} straight from the payload segment of a JWT. Only the
+ * payload is Base64URL decoded, and a streaming parser picks the few claims jumper uses while
+ * skipping everything else, so no claims map is built.
+ *
+ * <p>The extractor only handles the regular shape of a consumer token. For anything unusual (wrong
+ * claim types, duplicate or {@code nbf} claims, expired tokens, malformed input) it returns {@code
+ * null}, and the caller falls back to jjwt, which then applies its usual validation and errors.
+ */
+public final class ConsumerTokenClaimsExtractor {
+
+  // must match the clock skew of the jjwt fallback parser in OauthTokenUtil
+  static final long ALLOWED_CLOCK_SKEW_SECONDS = 3600;
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final UnsupportedTokenException UNSUPPORTED = new UnsupportedTokenException();
+
+  private static final int CLIENT_ID = 1;
+  private static final int ORIGIN_ZONE = 1 << 1;
+  private static final int ORIGIN_STARGATE = 1 << 2;
+  private static final int SUB = 1 << 3;
+  private static final int AUD = 1 << 4;
+  private static final int IAT = 1 << 5;
+  private static final int EXP = 1 << 6;
+  private static final int ISS = 1 << 7;
+
+  private ConsumerTokenClaimsExtractor() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  /**
+   * Extracts the claims of a JWT given without {@code Bearer} prefix.
+   *
+   * @return the claims, or {@code null} if the token has to be parsed by jjwt instead
+   */
+  public static ConsumerTokenClaims extract(String jwt) {
+    int firstDot = jwt.indexOf('.');
+    int secondDot = jwt.indexOf('.', firstDot + 1);
+    if (firstDot == -1 || secondDot == -1) {
+      return null;
+    }
+
+    byte[] payload = decodePayload(jwt, firstDot + 1, secondDot);
+    if (payload == null) {
+      return null;
+    }
+
+    try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+      return readClaims(parser);
+    } catch (RuntimeException e) {
+      // unsupported shape or malformed JSON, let jjwt produce the proper result or error
+      return null;
+    }
+  }
+
+  private static byte[] decodePayload(String jwt, int start, int end) {
+    byte[] encoded = new byte[end - start];
+    for (int i = start; i < end; i++) {
+      char c = jwt.charAt(i);
+      if (c > 0x7F) {
+        return null;
+      }
+      encoded[i - start] = (byte) c;
+    }
+    try {
+      return Base64.getUrlDecoder().decode(encoded);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static ConsumerTokenClaims readClaims(JsonParser parser) {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw UNSUPPORTED;
+    }
+
+    String clientId = null;
+    String originZone = null;
+    String originStargate = null;
+    String sub = null;
+    Set<String> aud = null;
+    Long iat = null;
+    Long exp = null;
+    String iss = null;
+    int seen = 0;
+
+    String name;
+    while ((name = parser.nextName()) != null) {
+      JsonToken value = parser.nextToken();
+      int claim = claimBit(name);
+      if (claim == 0) {
+        if (Constants.TOKEN_CLAIM_NBF.equals(name)) {
+          throw UNSUPPORTED;
+        }
+        parser.skipChildren();
+        continue;
+      }
+      if ((seen & claim) != 0) {
+        throw UNSUPPORTED;
+      }
+      seen |= claim;
+      if (value == JsonToken.VALUE_NULL) {
+        continue;
+      }
+
+      switch (claim) {
+        case CLIENT_ID -> clientId = readString(parser, value);
+        case ORIGIN_ZONE -> originZone = readString(parser, value);
+        case ORIGIN_STARGATE -> originStargate = readString(parser, value);
+        case SUB -> sub = readString(parser, value);
+        case ISS -> iss = readString(parser, value);
+        case AUD -> aud = readAudience(parser, value);
+        case IAT -> iat = readNumericDate(parser, value);
+        case EXP -> exp = readNumericDate(parser, value);
+        default -> throw new IllegalStateException("Unhandled claim " + name);
+      }
+    }
+
+    if (parser.nextToken() != null) {
+      throw UNSUPPORTED;
+    }
+    if (exp != null
+        && Instant.now().getEpochSecond() > Math.addExact(exp, ALLOWED_CLOCK_SKEW_SECONDS)) {
+      // expired tokens are rejected by jjwt
+      throw UNSUPPORTED;
+    }
+
+    return new ConsumerTokenClaims(
+        clientId,
+        originZone,
+        originStargate,
+        sub,
+        aud,
+        iat == null ? null : Instant.ofEpochSecond(iat),
+        exp == null ? null : Instant.ofEpochSecond(exp),
+        iss);
+  }
+
+  private static int claimBit(String name) {
+    return switch (name) {
+      case Constants.TOKEN_CLAIM_CLIENT_ID -> CLIENT_ID;
+      case Constants.TOKEN_CLAIM_ORIGIN_ZONE -> ORIGIN_ZONE;
+      case Constants.TOKEN_CLAIM_ORIGIN_STARGATE -> ORIGIN_STARGATE;
+      case Constants.TOKEN_CLAIM_SUB -> SUB;
+      case Constants.TOKEN_CLAIM_AUD -> AUD;
+      case Constants.TOKEN_CLAIM_IAT -> IAT;
+      case Constants.TOKEN_CLAIM_EXP -> EXP;
+      case Constants.TOKEN_CLAIM_ISS -> ISS;
+      default -> 0;
+    };
+  }
+
+  private static String readString(JsonParser parser, JsonToken value) {
+    if (value != JsonToken.VALUE_STRING) {
+      throw UNSUPPORTED;
+    }
+    return parser.getString();
+  }
+
+  private static long readNumericDate(JsonParser parser, JsonToken value) {
+    if (value != JsonToken.VALUE_NUMBER_INT
+        || parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+      throw UNSUPPORTED;
+    }
+    return parser.getLongValue();
+  }
+
+  private static Set<String> readAudience(JsonParser parser, JsonToken value) {
+    if (value == JsonToken.VALUE_STRING) {
+      return Set.of(parser.getString());
+    }
+    if (value != JsonToken.START_ARRAY) {
+      throw UNSUPPORTED;
+    }
+    Set<String> audience = new LinkedHashSet<>();
+    JsonToken element;
+    while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+      if (element != JsonToken.VALUE_STRING) {
+        throw UNSUPPORTED;
+      }
+      audience.add(parser.getString());
+    }
+    return audience;
+  }
+
+  /** Signals a token the extractor leaves to jjwt. Preallocated, it is not an error. */
+  private static final class UnsupportedTokenException extends RuntimeException {
+
+    private UnsupportedTokenException() {
+      super("token needs full parsing", null, false, false);
+    }
+  }
+}
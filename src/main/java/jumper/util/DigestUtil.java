@@ -0,0 +1,52 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.util;
+
+/** Non-cryptographic digests used to key hot-path caches. */
+public final class DigestUtil {
+
+  private static final long SEED = 0x9E3779B97F4A7C15L;
+  private static final long MULTIPLIER = 0xC2B2AE3D27D4EB4FL;
+
+  private DigestUtil() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  /**
+   * Fast 64-bit hash of a header value. Base64 header values are pure ASCII, so hashing the chars
+   * is equivalent to hashing the raw header bytes without encoding them first. Four chars are
+   * folded into one multiply round; the result is finalized with the MurmurHash3 avalanche step.
+   *
+   * <p>Not collision resistant: callers must verify the original value on a hit.
+   */
+  public static long fastHash64(CharSequence value) {
+    int length = value.length();
+    long hash = SEED ^ length;
+
+    int i = 0;
+    for (; i + 4 <= length; i += 4) {
+      long block =
+          value.charAt(i)
+              | ((long) value.charAt(i + 1) << 16)
+              | ((long) value.charAt(i + 2) << 32)
+              | ((long) value.charAt(i + 3) << 48);
+      hash = Long.rotateLeft(hash ^ (block * MULTIPLIER), 31) * SEED;
+    }
+    for (; i < length; i++) {
+      hash = (hash ^ value.charAt(i)) * MULTIPLIER;
+    }
+
+    return fmix64(hash);
+  }
+
+  private static long fmix64(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= hash >>> 33;
+    hash *= 0xC4CEB9FE1A85EC53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
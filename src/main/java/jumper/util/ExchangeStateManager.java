@@ -75,14 +75,16 @@ public class ExchangeStateManager {
   }
 
   /**
-   * Stores JumperConfig in the exchange for downstream filters.
+   * Stores the resolved JumperConfig in the exchange for downstream filters. The instance itself is
+   * stored, so every filter of the exchange works on the same resolved config (including the
+   * load-balancing pick) without re-parsing any header.
    *
    * @param exchange the server web exchange
    * @param config the jumper configuration to store
    */
   public static void setJumperConfig(ServerWebExchange exchange, JumperConfig config) {
     log.debug("Setting JumperConfig for consumer: {}", config.getConsumer());
-    exchange.getAttributes().put(ATTR_JUMPER_CONFIG, JumperConfig.toJsonBase64(config));
+    exchange.getAttributes().put(ATTR_JUMPER_CONFIG, config);
   }
 
   /**
@@ -92,8 +94,7 @@ public class ExchangeStateManager {
    * @return Optional containing the JumperConfig if present
    */
   public static Optional<JumperConfig> getJumperConfig(ServerWebExchange exchange) {
-    return Optional.ofNullable(exchange.getAttributes().get(ATTR_JUMPER_CONFIG))
-        .map(attr -> JumperConfig.fromJsonBase64((String) attr));
+    return Optional.ofNullable((JumperConfig) exchange.getAttributes().get(ATTR_JUMPER_CONFIG));
   }
 
   /**
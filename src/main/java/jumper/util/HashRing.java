@@ -0,0 +1,136 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import jumper.exception.LoadBalancingException;
+import jumper.model.config.Server;
+
+/**
+ * Consistent hash ring over the servers of a {@code jc.loadBalancing} route. Each server gets a
+ * number of virtual nodes in proportion to its weight, {@value #VIRTUAL_NODES_PER_SERVER} for a
+ * server of average weight, servers with weight 0 get none. Hashing is deterministic, so all
+ * replicas map a key to the same server.
+ *
+ * <p>Building it sorts all virtual nodes, so a ring is meant to be built once per server list and
+ * reused.
+ */
+public final class HashRing {
+
+  static final int VIRTUAL_NODES_PER_SERVER = 100;
+
+  private final String[] upstreams;
+  private final double[] shares;
+  // virtual nodes sorted by hash, and the server each of them belongs to
+  private final long[] nodeHashes;
+  private final int[] nodeServers;
+
+  private HashRing(String[] upstreams, double[] shares, long[] nodeHashes, int[] nodeServers) {
+    this.upstreams = upstreams;
+    this.shares = shares;
+    this.nodeHashes = nodeHashes;
+    this.nodeServers = nodeServers;
+  }
+
+  public static HashRing of(List<Server> servers) {
+    int weighted = 0;
+    double total = 0;
+    for (Server server : servers) {
+      if (server.getWeight() > 0) {
+        weighted++;
+        total += server.getWeight();
+      }
+    }
+    if (total == 0) {
+      throw new LoadBalancingException("can not calculate upstream");
+    }
+
+    String[] upstreams = new String[weighted];
+    double[] shares = new double[weighted];
+    int[] nodeCounts = new int[weighted];
+    int nodes = 0;
+    int i = 0;
+    for (Server server : servers) {
+      if (server.getWeight() > 0) {
+        upstreams[i] = server.getUpstream();
+        shares[i] = server.getWeight() / total;
+        nodeCounts[i] =
+            (int) Math.max(1, Math.round(VIRTUAL_NODES_PER_SERVER * weighted * shares[i]));
+        nodes += nodeCounts[i++];
+      }
+    }
+
+    // sort the virtual nodes by hash, each as a (hash, server index) pair
+    long[][] pairs = new long[nodes][];
+    int node = 0;
+    for (int server = 0; server < weighted; server++) {
+      for (int replica = 0; replica < nodeCounts[server]; replica++) {
+        pairs[node++] = new long[] {hash(upstreams[server] + "#" + replica), server};
+      }
+    }
+    Arrays.sort(pairs, (a, b) -> Long.compare(a[0], b[0]));
+
+    long[] nodeHashes = new long[nodes];
+    int[] nodeServers = new int[nodes];
+    for (node = 0; node < nodes; node++) {
+      nodeHashes[node] = pairs[node][0];
+      nodeServers[node] = (int) pairs[node][1];
+    }
+    return new HashRing(upstreams, shares, nodeHashes, nodeServers);
+  }
+
+  /** Number of servers with a weight, i.e. on the ring. */
+  public int size() {
+    return upstreams.length;
+  }
+
+  public String upstream(int server) {
+    return upstreams[server];
+  }
+
+  /** Share of the server in the total weight. */
+  public double share(int server) {
+    return shares[server];
+  }
+
+  /**
+   * Walks the ring clockwise from the hash of {@code key} and returns the index of the first server
+   * {@code accepts}. If it accepts none, the first server on the walk is returned.
+   */
+  public int locate(String key, IntPredicate accepts) {
+    int start = Arrays.binarySearch(nodeHashes, hash(key));
+    if (start < 0) {
+      start = -start - 1;
+    }
+    int first = nodeServers[start % nodeServers.length];
+
+    int previous = -1;
+    for (int step = 0; step < nodeServers.length; step++) {
+      int server = nodeServers[(start + step) % nodeServers.length];
+      if (server != previous && accepts.test(server)) {
+        return server;
+      }
+      previous = server;
+    }
+    return first;
+  }
+
+  /** 64 bit FNV-1a over the chars, with the MurmurHash3 finalizer to spread similar keys. */
+  static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,116 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.List;
+import jumper.model.config.JumperConfig;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+/**
+ * Decodes Base64 encoded {@code jumper_config} / {@code routing_config} header values. The header
+ * chars are streamed through a Base64 decoding stream straight into the Jackson parser, so neither
+ * the decoded bytes nor the JSON document are materialized as intermediate arrays or strings.
+ */
+public final class JumperConfigDecoder {
+
+  private static final TypeReference<List<JumperConfig>> ROUTING_CONFIG_TYPE =
+      new TypeReference<>() {};
+
+  private static volatile Readers readers;
+
+  private JumperConfigDecoder() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  public static JumperConfig decodeJumperConfig(String jumperConfigBase64) {
+    return readers().jumperConfigReader().readValue(base64Stream(jumperConfigBase64));
+  }
+
+  public static List<JumperConfig> decodeRoutingConfig(String routingConfigBase64) {
+    return readers().routingConfigReader().readValue(base64Stream(routingConfigBase64));
+  }
+
+  private static InputStream base64Stream(String base64) {
+    return Base64.getDecoder().wrap(new AsciiInputStream(base64));
+  }
+
+  /**
+   * ObjectReaders are immutable and thread-safe, so they are prepared once for the mapper currently
+   * exposed by {@link ObjectMapperUtil} and only rebuilt if that mapper is replaced.
+   */
+  private static Readers readers() {
+    ObjectMapper objectMapper = ObjectMapperUtil.getInstance();
+    Readers current = readers;
+    if (current == null || current.objectMapper() != objectMapper) {
+      current =
+          new Readers(
+              objectMapper,
+              objectMapper.readerFor(JumperConfig.class),
+              objectMapper.readerFor(ROUTING_CONFIG_TYPE));
+      readers = current;
+    }
+    return current;
+  }
+
+  private record Readers(
+      ObjectMapper objectMapper,
+      ObjectReader jumperConfigReader,
+      ObjectReader routingConfigReader) {}
+
+  /** Exposes the chars of an ASCII string as bytes, without copying the string. */
+  private static final class AsciiInputStream extends InputStream {
+
+    private final String value;
+    private int position;
+
+    private AsciiInputStream(String value) {
+      this.value = value;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (position >= value.length()) {
+        return -1;
+      }
+      return toAsciiByte(value.charAt(position++));
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      if (length == 0) {
+        return 0;
+      }
+      int remaining = value.length() - position;
+      if (remaining <= 0) {
+        return -1;
+      }
+      int count = Math.min(length, remaining);
+      for (int i = 0; i < count; i++) {
+        buffer[offset + i] = (byte) toAsciiByte(value.charAt(position + i));
+      }
+      position += count;
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return value.length() - position;
+    }
+
+    // Base64 is pure ASCII: reject anything else instead of truncating it to a (possibly valid)
+    // Base64 byte.
+    private static int toAsciiByte(char c) throws IOException {
+      if (c > 0x7F) {
+        throw new IOException("Illegal base64 character " + Integer.toHexString(c));
+      }
+      return c;
+    }
+  }
+}
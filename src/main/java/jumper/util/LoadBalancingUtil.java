@@ -5,7 +5,9 @@
 package jumper.util;
 
 import jakarta.validation.constraints.NotNull;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import jumper.exception.LoadBalancingException;
 import jumper.model.config.Server;
 
@@ -15,6 +17,10 @@ public final class LoadBalancingUtil {
     throw new UnsupportedOperationException("Utility class");
   }
 
+  /**
+   * Picks an upstream at random by weight with a linear scan. For server lists picked from
+   * repeatedly, {@link #calculateUpstream(AliasTable)} with a reused table is cheaper.
+   */
   public static String calculateUpstream(@NotNull List<Server> servers) {
     // Sum total of weights
     double total = 0;
@@ -28,7 +34,7 @@ public final class LoadBalancingUtil {
     }
 
     // Random a number between [0, total)
-    double random = Math.random() * total;
+    double random = ThreadLocalRandom.current().nextDouble() * total;
 
     // Seek cursor to find which area the random is in
     double cursor = 0;
@@ -41,4 +47,32 @@ public final class LoadBalancingUtil {
 
     throw new LoadBalancingException("can not calculate upstream");
   }
+
+  /** Picks an upstream at random by weight in constant time. */
+  public static String calculateUpstream(@NotNull AliasTable aliasTable) {
+    return aliasTable.upstream(aliasTable.pick(ThreadLocalRandom.current()));
+  }
+
+  /**
+   * Power of two choices: picks two different servers at random by weight and returns the upstream
+   * of the one {@code byLoad} orders first. If only one server has a weight, it is returned.
+   */
+  public static String calculateLeastLoadedUpstream(
+      @NotNull List<Server> servers, @NotNull Comparator<String> byLoad) {
+    return calculateLeastLoadedUpstream(AliasTable.of(servers), byLoad);
+  }
+
+  /** Power of two choices, see {@link #calculateLeastLoadedUpstream(List, Comparator)}. */
+  public static String calculateLeastLoadedUpstream(
+      @NotNull AliasTable aliasTable, @NotNull Comparator<String> byLoad) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = aliasTable.pick(random);
+    String firstUpstream = aliasTable.upstream(first);
+    if (aliasTable.size() == 1) {
+      return firstUpstream;
+    }
+    String secondUpstream = aliasTable.upstream(aliasTable.pickOther(first, random));
+
+    return byLoad.compare(firstUpstream, secondUpstream) <= 0 ? firstUpstream : secondUpstream;
+  }
 }
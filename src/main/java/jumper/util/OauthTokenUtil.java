@@ -4,10 +4,16 @@
 
 package jumper.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.Objects;
+import jumper.model.ConsumerTokenClaims;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
 
@@ -15,7 +21,10 @@ import org.jspecify.annotations.NonNull;
 public final class OauthTokenUtil {
 
   private static final JwtParser jwtParser =
-      Jwts.parser().unsecured().clockSkewSeconds(3600).build();
+      Jwts.parser()
+          .unsecured()
+          .clockSkewSeconds(ConsumerTokenClaimsExtractor.ALLOWED_CLOCK_SKEW_SECONDS)
+          .build();
 
   // jjwt >= 0.12 only parses unsecured JWTs whose header declares "alg":"none".
   // The input token is a signed JWT whose claims we read without verifying the
@@ -25,14 +34,33 @@ public final class OauthTokenUtil {
           .withoutPadding()
           .encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
 
+  // Consumer tokens are reused for many requests until they expire, so their parsed claims are
+  // cached. Keyed by the signature segment, which is unique per issued token.
+  private static final int CLAIMS_CACHE_MAX_SIZE = 10_000;
+  private static final Duration CLAIMS_CACHE_TTL_WITHOUT_EXPIRATION = Duration.ofMinutes(5);
+
+  private static final Cache<String, CachedClaims> consumerTokenClaimsCache =
+      Caffeine.newBuilder()
+          .maximumSize(CLAIMS_CACHE_MAX_SIZE)
+          .expireAfter(new ClaimsExpiry())
+          .recordStats()
+          .build();
+
+  /** For binding the cache to Micrometer, see {@code CachingConfig}. */
+  public static Cache<String, ?> getConsumerTokenClaimsCache() {
+    return consumerTokenClaimsCache;
+  }
+
   // Private constructor to prevent instantiation
   private OauthTokenUtil() {
     throw new UnsupportedOperationException("Utility class");
   }
 
   static String getTokenWithoutSignature(String token) {
-    String fullyProcessedToken = processToken(token);
+    return toTokenWithoutSignature(processToken(token));
+  }
 
+  private static String toTokenWithoutSignature(String fullyProcessedToken) {
     int firstDot = fullyProcessedToken.indexOf(".");
     int secondDot = fullyProcessedToken.indexOf(".", firstDot + 1);
 
@@ -47,9 +75,46 @@ public final class OauthTokenUtil {
     return getAllClaimsFromToken(token).getBody().get(claimName, String.class);
   }
 
+  /**
+   * Returns the claims of the given consumer token, parsing each distinct token only once until it
+   * expires. The returned claims are shared between requests and are immutable.
+   */
+  public static ConsumerTokenClaims getConsumerTokenClaims(String token) {
+    String fullyProcessedToken = processToken(token);
+
+    int lastDot = fullyProcessedToken.lastIndexOf('.');
+    if (lastDot == -1 || lastDot == fullyProcessedToken.length() - 1) {
+      // without a signature there is nothing to tell tokens apart cheaply, parse uncached
+      return parseConsumerTokenClaims(fullyProcessedToken);
+    }
+    String signature = fullyProcessedToken.substring(lastDot + 1);
+
+    CachedClaims cached = consumerTokenClaimsCache.getIfPresent(signature);
+    // only trust an entry for the identical token, the signature alone is attacker controlled
+    if (cached != null && cached.token().equals(fullyProcessedToken)) {
+      return cached.claims();
+    }
+
+    ConsumerTokenClaims claims = parseConsumerTokenClaims(fullyProcessedToken);
+    consumerTokenClaimsCache.put(signature, new CachedClaims(fullyProcessedToken, claims));
+    return claims;
+  }
+
+  private static ConsumerTokenClaims parseConsumerTokenClaims(String fullyProcessedToken) {
+    ConsumerTokenClaims claims = ConsumerTokenClaimsExtractor.extract(fullyProcessedToken);
+    if (claims != null) {
+      return claims;
+    }
+    log.debug("Consumer token not supported by claims extractor, falling back to jjwt");
+    return ConsumerTokenClaims.from(
+        parseTokenWithoutSignature(toTokenWithoutSignature(fullyProcessedToken)).getPayload());
+  }
+
   public static Jwt<?, Claims> getAllClaimsFromToken(String token) {
-    String tokenWithoutSignature = getTokenWithoutSignature(token);
+    return parseTokenWithoutSignature(getTokenWithoutSignature(token));
+  }
 
+  private static Jwt<?, Claims> parseTokenWithoutSignature(String tokenWithoutSignature) {
     int firstDot = tokenWithoutSignature.indexOf('.');
     String unsecuredToken = UNSECURED_HEADER + tokenWithoutSignature.substring(firstDot);
 
@@ -76,4 +141,32 @@ public final class OauthTokenUtil {
     String tokenWithoutBearer = trimmedToken.substring(BEARER_PREFIX.length());
     return tokenWithoutBearer.trim();
   }
+
+  private record CachedClaims(String token, ConsumerTokenClaims claims) {}
+
+  /** Expires cached claims together with the token they were read from. */
+  private static final class ClaimsExpiry implements Expiry<String, CachedClaims> {
+
+    @Override
+    public long expireAfterCreate(String key, CachedClaims value, long currentTime) {
+      Instant expiration = value.claims().expiration();
+      if (expiration == null) {
+        return CLAIMS_CACHE_TTL_WITHOUT_EXPIRATION.toNanos();
+      }
+      long millisUntilExpiration = expiration.toEpochMilli() - System.currentTimeMillis();
+      return Duration.ofMillis(Math.max(0, millisUntilExpiration)).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, CachedClaims value, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String key, CachedClaims value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
 }
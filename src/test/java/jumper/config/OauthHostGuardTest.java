@@ -0,0 +1,239 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import jumper.config.OauthHostGuard.CircuitState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class OauthHostGuardTest {
+
+  private static final String FAILING_IDP = "https://failing-idp.example.com/token";
+  private static final String HEALTHY_IDP = "https://healthy-idp.example.com/token";
+  private static final Duration HOST_IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+  private SimpleMeterRegistry meterRegistry;
+  private OauthHostGuard oauthHostGuard;
+  private AtomicInteger exchangeCount;
+  private final AtomicLong ticker = new AtomicLong();
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    oauthHostGuard = guard(10, 10);
+    exchangeCount = new AtomicInteger();
+  }
+
+  @Test
+  void failingHost_opensCircuit_otherHostsUnaffected() {
+    for (int i = 0; i < 4; i++) {
+      exchange(FAILING_IDP, respondWith(HttpStatus.BAD_GATEWAY)).block();
+    }
+    assertThat(oauthHostGuard.getCircuitState("failing-idp.example.com:443"))
+        .isEqualTo(CircuitState.OPEN);
+    assertThat(circuitStateGauge("failing-idp.example.com:443")).isEqualTo(1);
+
+    StepVerifier.create(exchange(FAILING_IDP, respondWith(HttpStatus.OK)))
+        .expectErrorSatisfies(
+            e ->
+                assertThat(e)
+                    .isInstanceOf(ResponseStatusException.class)
+                    .hasMessageContaining("circuit open"))
+        .verify();
+    assertThat(exchangeCount).hasValue(4);
+
+    StepVerifier.create(exchange(HEALTHY_IDP, respondWith(HttpStatus.OK)))
+        .expectNextCount(1)
+        .verifyComplete();
+  }
+
+  @Test
+  void clientErrors_doNotOpenCircuit() {
+    for (int i = 0; i < 8; i++) {
+      exchange(FAILING_IDP, respondWith(HttpStatus.UNAUTHORIZED)).block();
+    }
+
+    assertThat(oauthHostGuard.getCircuitState("failing-idp.example.com:443"))
+        .isEqualTo(CircuitState.CLOSED);
+  }
+
+  @Test
+  void connectErrors_openCircuit() {
+    for (int i = 0; i < 4; i++) {
+      exchange(FAILING_IDP, request -> Mono.error(new IllegalStateException("refused")))
+          .onErrorResume(e -> Mono.empty())
+          .block();
+    }
+
+    assertThat(oauthHostGuard.getCircuitState("failing-idp.example.com:443"))
+        .isEqualTo(CircuitState.OPEN);
+  }
+
+  @Test
+  void successfulProbe_closesCircuit() {
+    for (int i = 0; i < 4; i++) {
+      exchange(FAILING_IDP, respondWith(HttpStatus.SERVICE_UNAVAILABLE)).block();
+    }
+
+    await()
+        .atMost(Duration.ofSeconds(2))
+        .untilAsserted(
+            () ->
+                StepVerifier.create(exchange(FAILING_IDP, respondWith(HttpStatus.OK)))
+                    .expectNextCount(1)
+                    .verifyComplete());
+    assertThat(oauthHostGuard.getCircuitState("failing-idp.example.com:443"))
+        .isEqualTo(CircuitState.CLOSED);
+  }
+
+  @Test
+  void failedProbe_reopensCircuit() {
+    for (int i = 0; i < 4; i++) {
+      exchange(FAILING_IDP, respondWith(HttpStatus.SERVICE_UNAVAILABLE)).block();
+    }
+
+    await()
+        .atMost(Duration.ofSeconds(2))
+        .untilAsserted(
+            () ->
+                StepVerifier.create(
+                        exchange(FAILING_IDP, respondWith(HttpStatus.SERVICE_UNAVAILABLE)))
+                    .expectNextCount(1)
+                    .verifyComplete());
+    assertThat(oauthHostGuard.getCircuitState("failing-idp.example.com:443"))
+        .isEqualTo(CircuitState.OPEN);
+  }
+
+  @Test
+  void requestsBeyondConnectionsAndPending_areRejected() {
+    oauthHostGuard = guard(1, 1);
+    Disposable first = exchange(FAILING_IDP, request -> Mono.never()).subscribe();
+    Disposable second = exchange(FAILING_IDP, request -> Mono.never()).subscribe();
+
+    StepVerifier.create(exchange(FAILING_IDP, respondWith(HttpStatus.OK)))
+        .expectErrorSatisfies(
+            e -> assertThat(e).hasMessageContaining("Too many pending token requests"))
+        .verify();
+    StepVerifier.create(exchange(HEALTHY_IDP, respondWith(HttpStatus.OK)))
+        .expectNextCount(1)
+        .verifyComplete();
+
+    first.dispose();
+    StepVerifier.create(exchange(FAILING_IDP, respondWith(HttpStatus.OK)))
+        .expectNextCount(1)
+        .verifyComplete();
+    second.dispose();
+  }
+
+  @Test
+  void inFlightRequests_areReportedPerHost() {
+    oauthHostGuard = guard(1, 2);
+    Disposable first = exchange(FAILING_IDP, request -> Mono.never()).subscribe();
+    Disposable second = exchange(FAILING_IDP, request -> Mono.never()).subscribe();
+
+    assertThat(hostGauge("active", "failing-idp.example.com:443")).isEqualTo(1);
+    assertThat(hostGauge("pending", "failing-idp.example.com:443")).isEqualTo(1);
+
+    first.dispose();
+    second.dispose();
+    assertThat(hostGauge("active", "failing-idp.example.com:443")).isZero();
+    assertThat(hostGauge("pending", "failing-idp.example.com:443")).isZero();
+  }
+
+  @Test
+  void hostsBeyondMaxHostTags_areReportedAsOther() {
+    for (int i = 0; i < 4; i++) {
+      exchange(FAILING_IDP, respondWith(HttpStatus.BAD_GATEWAY)).block();
+    }
+    exchange(HEALTHY_IDP, respondWith(HttpStatus.OK)).block();
+    Disposable pending =
+        exchange("https://third-idp.example.com/token", request -> Mono.never()).subscribe();
+    for (int i = 0; i < 4; i++) {
+      exchange("https://fourth-idp.example.com/token", respondWith(HttpStatus.BAD_GATEWAY))
+          .block();
+    }
+
+    assertThat(meterRegistry.find("jumper.oauth.host.circuit.state").gauges()).hasSize(3);
+    assertThat(circuitStateGauge("failing-idp.example.com:443")).isEqualTo(1);
+    assertThat(circuitStateGauge("healthy-idp.example.com:443")).isZero();
+    assertThat(circuitStateGauge(OauthHostGuard.OTHER_HOST)).isEqualTo(1);
+    assertThat(hostGauge("active", OauthHostGuard.OTHER_HOST)).isEqualTo(1);
+    pending.dispose();
+  }
+
+  @Test
+  void idleHosts_areDroppedWithTheirMetrics() {
+    exchange(FAILING_IDP, respondWith(HttpStatus.OK)).block();
+    ticker.addAndGet(HOST_IDLE_TIMEOUT.toNanos() / 2);
+    exchange(HEALTHY_IDP, respondWith(HttpStatus.OK)).block();
+
+    ticker.addAndGet(HOST_IDLE_TIMEOUT.toNanos() / 2 + 1);
+    oauthHostGuard.cleanUp();
+
+    assertThat(
+            meterRegistry
+                .find("jumper.oauth.host.active")
+                .tag("host", "failing-idp.example.com:443")
+                .gauge())
+        .isNull();
+    assertThat(hostGauge("active", "healthy-idp.example.com:443")).isZero();
+
+    // the freed tag value goes to the next new host
+    exchange("https://third-idp.example.com/token", respondWith(HttpStatus.OK)).block();
+    assertThat(hostGauge("active", "third-idp.example.com:443")).isZero();
+  }
+
+  private OauthHostGuard guard(int maxConnections, int maxPending) {
+    return new OauthHostGuard(
+        maxConnections,
+        maxPending,
+        true,
+        50,
+        4,
+        4,
+        Duration.ofMillis(200),
+        HOST_IDLE_TIMEOUT,
+        2,
+        meterRegistry,
+        ticker::get);
+  }
+
+  private Mono<ClientResponse> exchange(String url, ExchangeFunction exchangeFunction) {
+    ClientRequest request = ClientRequest.create(HttpMethod.POST, URI.create(url)).build();
+    return oauthHostGuard.filter(request, exchangeFunction);
+  }
+
+  private ExchangeFunction respondWith(HttpStatus status) {
+    return request -> {
+      exchangeCount.incrementAndGet();
+      return Mono.just(ClientResponse.create(status).build());
+    };
+  }
+
+  private double circuitStateGauge(String host) {
+    return hostGauge("circuit.state", host);
+  }
+
+  private double hostGauge(String name, String host) {
+    return meterRegistry.get("jumper.oauth.host." + name).tag("host", host).gauge().value();
+  }
+}
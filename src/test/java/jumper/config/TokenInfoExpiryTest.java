@@ -0,0 +1,51 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import jumper.model.TokenInfo;
+import org.junit.jupiter.api.Test;
+
+class TokenInfoExpiryTest {
+
+  private final TokenInfoExpiry expiry = new TokenInfoExpiry(10, 30);
+
+  @Test
+  void tokenWithExpiresIn_expiresTtlOffsetBeforeToken() {
+    long duration = expiry.expireAfterCreate("key", tokenInfo(60), 0);
+
+    assertThat(Duration.ofNanos(duration))
+        .isBetween(Duration.ofSeconds(49), Duration.ofSeconds(50));
+  }
+
+  @Test
+  void tokenWithoutExpiresIn_expiresAfterMaxLifetime() {
+    long duration = expiry.expireAfterCreate("key", new TokenInfo(), 0);
+
+    assertThat(Duration.ofNanos(duration)).isEqualTo(Duration.ofMinutes(30));
+  }
+
+  @Test
+  void tokenExpiringWithinTtlOffset_isNotCached() {
+    Cache<Object, Object> cache = Caffeine.newBuilder().expireAfter(expiry).build();
+
+    cache.put("short", tokenInfo(5));
+    cache.put("long", tokenInfo(3600));
+
+    assertThat(cache.getIfPresent("short")).isNull();
+    assertThat(cache.getIfPresent("long")).isNotNull();
+  }
+
+  private static TokenInfo tokenInfo(int expiresIn) {
+    TokenInfo tokenInfo = new TokenInfo();
+    tokenInfo.setAccessToken("token");
+    tokenInfo.setExpiresIn(expiresIn);
+    return tokenInfo;
+  }
+}
@@ -0,0 +1,143 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
+import java.security.cert.CertificateException;
+import java.time.Duration;
+import javax.net.ssl.SSLException;
+import jumper.model.config.UpstreamProtocol;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+class UpstreamProtocolConfigurerTest {
+
+  private SslContext sslContext;
+  private UpstreamProtocolConfigurer configurer;
+  private DisposableServer server;
+
+  @BeforeEach
+  void setUp() throws SSLException {
+    sslContext =
+        SslContextBuilder.forClient().trustManager(InsecureTrustManagerFactory.INSTANCE).build();
+    SslContext http2SslContext =
+        SslContextBuilder.forClient()
+            .trustManager(InsecureTrustManagerFactory.INSTANCE)
+            .applicationProtocolConfig(
+                new ApplicationProtocolConfig(
+                    ApplicationProtocolConfig.Protocol.ALPN,
+                    ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                    ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                    ApplicationProtocolNames.HTTP_2,
+                    ApplicationProtocolNames.HTTP_1_1))
+            .build();
+    configurer =
+        new UpstreamProtocolConfigurer(UpstreamProtocol.HTTP1, sslContext, http2SslContext);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (server != null) {
+      server.disposeNow();
+    }
+  }
+
+  @Test
+  void h2_negotiatesHttp2ByAlpn() throws CertificateException {
+    SelfSignedCertificate certificate = new SelfSignedCertificate();
+    server =
+        HttpServer.create()
+            .port(0)
+            .secure(
+                spec ->
+                    spec.sslContext(
+                        Http2SslContextSpec.forServer(
+                            certificate.certificate(), certificate.privateKey())))
+            .protocol(HttpProtocol.HTTP11, HttpProtocol.H2)
+            .handle((request, response) -> response.sendString(Mono.just("ok")))
+            .bindNow();
+
+    assertThat(post(UpstreamProtocol.H2, "https")).isEqualTo("HTTP/2.0 ok");
+    assertThat(post(UpstreamProtocol.HTTP1, "https")).isEqualTo("HTTP/1.1 ok");
+  }
+
+  @Test
+  void h2_fallsBackToHttp11() throws CertificateException {
+    SelfSignedCertificate certificate = new SelfSignedCertificate();
+    server =
+        HttpServer.create()
+            .port(0)
+            .secure(
+                spec ->
+                    spec.sslContext(
+                        Http11SslContextSpec.forServer(
+                            certificate.certificate(), certificate.privateKey())))
+            .handle((request, response) -> response.sendString(Mono.just("ok")))
+            .bindNow();
+
+    assertThat(post(UpstreamProtocol.H2, "https")).isEqualTo("HTTP/1.1 ok");
+  }
+
+  @Test
+  void h2_keepsPlaintextOnHttp11() {
+    startPlaintextServer(HttpProtocol.HTTP11, HttpProtocol.H2C);
+
+    assertThat(post(UpstreamProtocol.H2, "http")).isEqualTo("HTTP/1.1 ok");
+  }
+
+  @Test
+  void h2c_usesHttp2ForPlaintext() {
+    startPlaintextServer(HttpProtocol.HTTP11, HttpProtocol.H2C);
+
+    assertThat(post(UpstreamProtocol.H2C, "http")).isEqualTo("HTTP/2.0 ok");
+  }
+
+  @Test
+  void effectiveProtocol_routesTlsOfH2cAsH2() {
+    assertThat(UpstreamProtocolConfigurer.effectiveProtocol(UpstreamProtocol.H2C, true))
+        .isEqualTo(UpstreamProtocol.H2);
+    assertThat(UpstreamProtocolConfigurer.effectiveProtocol(UpstreamProtocol.H2C, false))
+        .isEqualTo(UpstreamProtocol.H2C);
+    assertThat(UpstreamProtocolConfigurer.effectiveProtocol(UpstreamProtocol.HTTP1, true))
+        .isEqualTo(UpstreamProtocol.HTTP1);
+  }
+
+  private void startPlaintextServer(HttpProtocol... protocols) {
+    server =
+        HttpServer.create()
+            .port(0)
+            .protocol(protocols)
+            .handle((request, response) -> response.sendString(Mono.just("ok")))
+            .bindNow();
+  }
+
+  // the customized gateway client is secured, like the one configured here
+  private String post(UpstreamProtocol protocol, String scheme) {
+    HttpClient httpClient = HttpClient.create().secure(t -> t.sslContext(sslContext));
+    return configurer
+        .configure(httpClient, protocol)
+        .post()
+        .uri(scheme + "://localhost:" + server.port() + "/")
+        .send((request, outbound) -> outbound.sendString(Mono.just("body")))
+        .responseSingle(
+            (response, body) -> body.asString().map(s -> response.version().text() + " " + s))
+        .block(Duration.ofSeconds(10));
+  }
+}
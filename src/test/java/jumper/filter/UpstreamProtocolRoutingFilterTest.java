@@ -0,0 +1,201 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import jumper.config.UpstreamProtocolConfigurer;
+import jumper.model.config.JumperConfig;
+import jumper.model.config.UpstreamProtocol;
+import jumper.util.ExchangeStateManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.ResolvableType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+class UpstreamProtocolRoutingFilterTest {
+
+  private final Map<String, AtomicInteger> receivedRequests = new ConcurrentHashMap<>();
+
+  private SimpleMeterRegistry meterRegistry;
+  private DisposableServer tlsServer;
+  private DisposableServer plaintextServer;
+  private FilteringWebHandler gateway;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    SelfSignedCertificate certificate = new SelfSignedCertificate();
+    tlsServer =
+        HttpServer.create()
+            .port(0)
+            .secure(
+                spec ->
+                    spec.sslContext(
+                        Http2SslContextSpec.forServer(
+                            certificate.certificate(), certificate.privateKey())))
+            .protocol(HttpProtocol.HTTP11, HttpProtocol.H2)
+            .handle(this::echoProtocol)
+            .bindNow();
+    plaintextServer =
+        HttpServer.create()
+            .port(0)
+            .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+            .handle(this::echoProtocol)
+            .bindNow();
+
+    SslContext sslContext =
+        SslContextBuilder.forClient().trustManager(InsecureTrustManagerFactory.INSTANCE).build();
+    SslContext http2SslContext =
+        SslContextBuilder.forClient()
+            .trustManager(InsecureTrustManagerFactory.INSTANCE)
+            .applicationProtocolConfig(
+                new ApplicationProtocolConfig(
+                    ApplicationProtocolConfig.Protocol.ALPN,
+                    ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                    ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                    ApplicationProtocolNames.HTTP_2,
+                    ApplicationProtocolNames.HTTP_1_1))
+            .build();
+    UpstreamProtocolConfigurer configurer =
+        new UpstreamProtocolConfigurer(UpstreamProtocol.HTTP1, sslContext, http2SslContext);
+
+    // the customized gateway client is secured and uses the default protocol
+    HttpClient httpClient = HttpClient.create().secure(t -> t.sslContext(sslContext));
+    @SuppressWarnings("unchecked")
+    ObjectProvider<List<HttpHeadersFilter>> headersFilters =
+        (ObjectProvider<List<HttpHeadersFilter>>)
+            (ObjectProvider<?>)
+                new DefaultListableBeanFactory()
+                    .getBeanProvider(
+                        ResolvableType.forClassWithGenerics(List.class, HttpHeadersFilter.class));
+    HttpClientProperties properties = new HttpClientProperties();
+    meterRegistry = new SimpleMeterRegistry();
+
+    gateway =
+        new FilteringWebHandler(
+            List.of(
+                new NettyWriteResponseFilter(List.of(), headersFilters),
+                new UpstreamProtocolRoutingFilter(
+                    httpClient, configurer, headersFilters, properties, meterRegistry),
+                new NettyRoutingFilter(
+                    configurer.configure(httpClient, UpstreamProtocol.HTTP1),
+                    headersFilters,
+                    properties)),
+            false);
+  }
+
+  @AfterEach
+  void tearDown() {
+    tlsServer.disposeNow();
+    plaintextServer.disposeNow();
+  }
+
+  @Test
+  void h2Route_isRoutedOnceWithHttp2() {
+    MockServerWebExchange exchange = route("https", tlsServer, UpstreamProtocol.H2);
+
+    assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("HTTP/2.0");
+    assertThat(receivedRequests).containsOnlyKeys("HTTP/2.0");
+    assertThat(receivedRequests.get("HTTP/2.0")).hasValue(1);
+    assertThat(requestsCount("HTTP/2.0")).isEqualTo(1);
+    assertThat(meterRegistry.get(UpstreamProtocolRoutingFilter.STREAMS_METRIC).summary().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void defaultRoute_isRoutedOnceByGatewayRoutingFilter() {
+    MockServerWebExchange exchange = route("https", tlsServer, null);
+
+    assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("HTTP/1.1");
+    assertThat(receivedRequests).containsOnlyKeys("HTTP/1.1");
+    assertThat(receivedRequests.get("HTTP/1.1")).hasValue(1);
+    assertThat(requestsCount("HTTP/1.1")).isEqualTo(1);
+  }
+
+  @Test
+  void h2cRoute_withHttpsUpstream_isRoutedWithH2() {
+    MockServerWebExchange exchange = route("https", tlsServer, UpstreamProtocol.H2C);
+
+    assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("HTTP/2.0");
+    assertThat(receivedRequests.get("HTTP/2.0")).hasValue(1);
+    assertThat(requestsCount("HTTP/2.0")).isEqualTo(1);
+  }
+
+  @Test
+  void h2cRoute_withHttpUpstream_usesPriorKnowledge() {
+    MockServerWebExchange exchange = route("http", plaintextServer, UpstreamProtocol.H2C);
+
+    assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("HTTP/2.0");
+    assertThat(receivedRequests.get("HTTP/2.0")).hasValue(1);
+    assertThat(requestsCount("HTTP/2.0")).isEqualTo(1);
+  }
+
+  private Mono<Void> echoProtocol(HttpServerRequest request, HttpServerResponse response) {
+    String protocol = request.version().text();
+    receivedRequests.computeIfAbsent(protocol, key -> new AtomicInteger()).incrementAndGet();
+    return response.sendString(Mono.just(protocol)).then();
+  }
+
+  private MockServerWebExchange route(
+      String scheme, DisposableServer server, UpstreamProtocol upstreamProtocol) {
+    URI upstreamUrl = URI.create(scheme + "://localhost:" + server.port() + "/api");
+    MockServerWebExchange exchange =
+        MockServerWebExchange.from(MockServerHttpRequest.get("/api").build());
+    exchange
+        .getAttributes()
+        .put(
+            ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+            Route.async().id("route").uri(upstreamUrl).predicate(e -> true).build());
+    exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, upstreamUrl);
+    if (upstreamProtocol != null) {
+      JumperConfig jumperConfig = new JumperConfig();
+      jumperConfig.setUpstreamProtocol(upstreamProtocol);
+      ExchangeStateManager.setJumperConfig(exchange, jumperConfig);
+    }
+
+    gateway.handle(exchange).block(Duration.ofSeconds(10));
+    return exchange;
+  }
+
+  private double requestsCount(String protocol) {
+    return meterRegistry
+        .get(UpstreamProtocolRoutingFilter.REQUESTS_METRIC)
+        .tag("protocol", protocol)
+        .counter()
+        .count();
+  }
+}
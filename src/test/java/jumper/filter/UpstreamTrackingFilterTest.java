@@ -0,0 +1,172 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import jumper.model.config.JumperConfig;
+import jumper.service.UpstreamLoadRegistry;
+import jumper.service.UpstreamOutlierDetector;
+import jumper.util.ExchangeStateManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class UpstreamTrackingFilterTest {
+
+  private static final String UPSTREAM = "http://upstream.local";
+
+  private UpstreamLoadRegistry upstreamLoadRegistry;
+  private UpstreamOutlierDetector upstreamOutlierDetector;
+  private UpstreamTrackingFilter filter;
+  private MockServerWebExchange exchange;
+
+  @BeforeEach
+  void setUp() {
+    upstreamLoadRegistry = new UpstreamLoadRegistry(0.5, 10);
+    upstreamOutlierDetector = mock(UpstreamOutlierDetector.class);
+    filter = new UpstreamTrackingFilter(upstreamLoadRegistry, upstreamOutlierDetector);
+    exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api").build());
+    JumperConfig jumperConfig = new JumperConfig();
+    jumperConfig.setTrackedUpstream(UPSTREAM);
+    ExchangeStateManager.setJumperConfig(exchange, jumperConfig);
+  }
+
+  @Test
+  void upstreamIsOutstandingOnlyWhileRouting() {
+    AtomicInteger outstandingWhileRouting = new AtomicInteger(-1);
+    AtomicInteger outstandingWhileFetchingToken = new AtomicInteger(-1);
+
+    StepVerifier.create(
+            handle(
+                (e, chain) -> {
+                  outstandingWhileFetchingToken.set(upstreamLoadRegistry.getOutstanding(UPSTREAM));
+                  return chain.filter(e);
+                },
+                e -> {
+                  outstandingWhileRouting.set(upstreamLoadRegistry.getOutstanding(UPSTREAM));
+                  return Mono.empty();
+                }))
+        .verifyComplete();
+
+    assertThat(outstandingWhileFetchingToken).hasValue(0);
+    assertThat(outstandingWhileRouting).hasValue(1);
+    assertThat(upstreamLoadRegistry.getOutstanding(UPSTREAM)).isZero();
+    verify(upstreamOutlierDetector).record(UPSTREAM, true);
+  }
+
+  @Test
+  void failedTokenFetch_isNoUpstreamFailure() {
+    StepVerifier.create(
+            handle(
+                (e, chain) ->
+                    Mono.error(
+                        new ResponseStatusException(
+                            HttpStatus.SERVICE_UNAVAILABLE, "Token endpoint host failing")),
+                e -> Mono.empty()))
+        .verifyError(ResponseStatusException.class);
+
+    verify(upstreamOutlierDetector, never()).record(any(), anyBoolean());
+  }
+
+  @Test
+  void upstreamServerError_isUpstreamFailure() {
+    StepVerifier.create(
+            handle(
+                (e, chain) -> chain.filter(e),
+                e ->
+                    Mono.fromRunnable(
+                        () -> e.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE))))
+        .verifyComplete();
+
+    verify(upstreamOutlierDetector).record(UPSTREAM, false);
+  }
+
+  @Test
+  void routingError_isUpstreamFailure() {
+    StepVerifier.create(
+            handle(
+                (e, chain) -> chain.filter(e),
+                e -> Mono.error(new IllegalStateException("Connection refused"))))
+        .verifyError(IllegalStateException.class);
+
+    verify(upstreamOutlierDetector).record(UPSTREAM, false);
+  }
+
+  @Test
+  void cancelledRequest_isNoLongerOutstanding() {
+    Disposable routing = filter.filter(exchange, e -> Mono.never()).subscribe();
+    assertThat(upstreamLoadRegistry.getOutstanding(UPSTREAM)).isEqualTo(1);
+
+    routing.dispose();
+    assertThat(upstreamLoadRegistry.getOutstanding(UPSTREAM)).isZero();
+    verify(upstreamOutlierDetector, never()).record(any(), anyBoolean());
+  }
+
+  @Test
+  void withoutTrackedUpstream_nothingIsTracked() {
+    ExchangeStateManager.setJumperConfig(exchange, new JumperConfig());
+
+    StepVerifier.create(filter.filter(exchange, e -> Mono.empty())).verifyComplete();
+
+    verify(upstreamOutlierDetector, never()).record(any(), anyBoolean());
+  }
+
+  /**
+   * Runs the exchange through the gateway's filter chain: {@code tokenFilter} in the position of
+   * the UpstreamOAuthFilter, {@code routing} in the one of the NettyRoutingFilter.
+   */
+  private Mono<Void> handle(GatewayFilter tokenFilter, Routing routing) {
+    Route route =
+        Route.async()
+            .id("route")
+            .uri(UPSTREAM)
+            .predicate(e -> true)
+            .filter(
+                new OrderedGatewayFilter(
+                    tokenFilter, UpstreamOAuthFilter.UPSTREAM_OAUTH_FILTER_ORDER))
+            .build();
+    exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+    return new FilteringWebHandler(List.of(filter, routing), false).handle(exchange);
+  }
+
+  private interface Routing extends GlobalFilter, Ordered {
+
+    Mono<Void> route(ServerWebExchange exchange);
+
+    @Override
+    default Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+      return route(exchange);
+    }
+
+    @Override
+    default int getOrder() {
+      return NettyRoutingFilter.ORDER;
+    }
+  }
+}
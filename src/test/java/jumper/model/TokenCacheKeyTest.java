@@ -0,0 +1,70 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jumper.model.config.OauthCredentials;
+import org.junit.jupiter.api.Test;
+
+class TokenCacheKeyTest {
+
+  private static final String TOKEN_ENDPOINT = "https://idp.example.com/token";
+
+  @Test
+  void keysFromCredentialsAndFromPlainValues_areEqual() {
+    OauthCredentials credentials = credentials("client", "secret");
+    credentials.setScopes("read");
+
+    TokenCacheKey fromCredentials = TokenCacheKey.of(TOKEN_ENDPOINT, credentials);
+    TokenCacheKey fromValues = TokenCacheKey.of(TOKEN_ENDPOINT, "client", "secret", "read");
+
+    assertThat(fromCredentials).isEqualTo(fromValues).hasSameHashCodeAs(fromValues);
+  }
+
+  @Test
+  void differentSecret_givesDifferentKey() {
+    assertThat(TokenCacheKey.of(TOKEN_ENDPOINT, "client", "secret", null))
+        .isNotEqualTo(TokenCacheKey.of(TOKEN_ENDPOINT, "client", "other", null));
+  }
+
+  @Test
+  void missingScopes_areEmpty() {
+    assertThat(TokenCacheKey.of(TOKEN_ENDPOINT, "client", "secret", null))
+        .isEqualTo(TokenCacheKey.of(TOKEN_ENDPOINT, "client", "secret", ""));
+  }
+
+  @Test
+  void toString_keepsFormatAndHidesSecret() {
+    TokenCacheKey key = TokenCacheKey.of(TOKEN_ENDPOINT, "client", "secret", "read");
+
+    assertThat(key.toString())
+        .isEqualTo(
+            TOKEN_ENDPOINT
+                + ".client."
+                + TokenCacheKey.credentialDigest("client", "secret")
+                + ".read")
+        .doesNotContain("secret");
+  }
+
+  @Test
+  void credentialDigest_isMemoizedAndFollowsChanges() {
+    OauthCredentials credentials = credentials("client", "secret");
+
+    String digest = credentials.getCredentialDigest();
+    assertThat(credentials.getCredentialDigest()).isSameAs(digest);
+
+    credentials.setClientSecret("rotated");
+    assertThat(credentials.getCredentialDigest())
+        .isEqualTo(TokenCacheKey.credentialDigest("client", "rotated"));
+  }
+
+  private static OauthCredentials credentials(String clientId, String clientSecret) {
+    OauthCredentials credentials = new OauthCredentials();
+    credentials.setClientId(clientId);
+    credentials.setClientSecret(clientSecret);
+    return credentials;
+  }
+}
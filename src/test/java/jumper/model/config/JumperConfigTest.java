@@ -5,7 +5,10 @@
 package jumper.model.config;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
+import java.util.List;
 import java.util.stream.Stream;
 import jumper.Constants;
 import org.junit.jupiter.api.Test;
@@ -98,6 +101,27 @@ class JumperConfigTest {
     assertEquals(Constants.DEFAULT_REALM, realm);
   }
 
+  @Test
+  void copy_isIndependentOfTemplateForScalarFields() {
+    // arrange
+    JumperConfig template = new JumperConfig();
+    template.setRemoteApiUrl("http://upstream.local");
+    template.setRemoveHeaders(List.of("x-remove"));
+
+    // act
+    JumperConfig copy = template.copy();
+    copy.setConsumer("consumer");
+    copy.setRequestPath("/path");
+    copy.setSecondaryFailover(true);
+
+    // assert
+    assertEquals("http://upstream.local", copy.getRemoteApiUrl());
+    assertSame(template.getRemoveHeaders(), copy.getRemoveHeaders());
+    assertNull(template.getConsumer());
+    assertNull(template.getRequestPath());
+    assertEquals(false, template.getSecondaryFailover());
+  }
+
   private static ServerHttpRequest requestWithRealmHeader(String realm) {
     return MockServerHttpRequest.get("/").header(Constants.HEADER_REALM, realm).build();
   }
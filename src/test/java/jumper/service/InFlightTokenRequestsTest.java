@@ -0,0 +1,152 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import jumper.model.TokenCacheKey;
+import jumper.model.TokenInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class InFlightTokenRequestsTest {
+
+  private static final TokenCacheKey TOKEN_CACHE_KEY =
+      TokenCacheKey.of("https://idp.example.com/token", "client", "secret", null);
+  private static final TokenCacheKey OTHER_TOKEN_CACHE_KEY =
+      TokenCacheKey.of("https://idp.example.com/token", "other-client", "secret", null);
+
+  private SimpleMeterRegistry meterRegistry;
+  private AtomicInteger fetchCount;
+  private AtomicBoolean fetchCancelled;
+  private Sinks.One<TokenInfo> idpResponse;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    fetchCount = new AtomicInteger();
+    fetchCancelled = new AtomicBoolean();
+    idpResponse = Sinks.one();
+  }
+
+  @Test
+  void concurrentWaiters_shareOneFetch() {
+    InFlightTokenRequests inFlightTokenRequests = inFlightTokenRequests(10, 30_000);
+    Mono<TokenInfo> first = inFlightTokenRequests.join(TOKEN_CACHE_KEY, this::fetch);
+    Mono<TokenInfo> second = inFlightTokenRequests.join(TOKEN_CACHE_KEY, this::fetch);
+
+    StepVerifier.create(Mono.zip(first, second))
+        .then(
+            () -> {
+              assertThat(gauge("entries")).isEqualTo(1);
+              assertThat(gauge("waiters")).isEqualTo(2);
+              idpResponse.tryEmitValue(tokenInfo());
+            })
+        .assertNext(tuple -> assertThat(tuple.getT1()).isSameAs(tuple.getT2()))
+        .verifyComplete();
+
+    assertThat(fetchCount).hasValue(1);
+    assertThat(gauge("entries")).isZero();
+    assertThat(gauge("waiters")).isZero();
+  }
+
+  @Test
+  void cancelledWaiter_doesNotCancelSharedFetch() {
+    InFlightTokenRequests inFlightTokenRequests = inFlightTokenRequests(10, 30_000);
+    Disposable cancelledWaiter =
+        inFlightTokenRequests.join(TOKEN_CACHE_KEY, this::fetch).subscribe();
+
+    StepVerifier.create(inFlightTokenRequests.join(TOKEN_CACHE_KEY, this::fetch))
+        .then(
+            () -> {
+              cancelledWaiter.dispose();
+              idpResponse.tryEmitValue(tokenInfo());
+            })
+        .expectNextCount(1)
+        .verifyComplete();
+
+    assertThat(fetchCancelled).isFalse();
+    assertThat(fetchCount).hasValue(1);
+  }
+
+  @Test
+  void entryExceedingMaxAge_failsWaitersAndIsReplaced() {
+    InFlightTokenRequests inFlightTokenRequests = inFlightTokenRequests(10, 200);
+
+    StepVerifier.create(inFlightTokenRequests.join(TOKEN_CACHE_KEY, this::fetch))
+        .expectErrorSatisfies(
+            e ->
+                assertThat(e)
+                    .isInstanceOfSatisfying(
+                        ResponseStatusException.class,
+                        rse ->
+                            assertThat(rse.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT)))
+        .verify(Duration.ofSeconds(5));
+
+    Disposable waiter = inFlightTokenRequests.join(TOKEN_CACHE_KEY, this::fetch).subscribe();
+    assertThat(fetchCount).hasValue(2);
+    waiter.dispose();
+  }
+
+  @Test
+  void distinctFetchesBeyondMaxEntries_areRejected() {
+    InFlightTokenRequests inFlightTokenRequests = inFlightTokenRequests(1, 30_000);
+    Disposable waiter = inFlightTokenRequests.join(TOKEN_CACHE_KEY, this::fetch).subscribe();
+
+    StepVerifier.create(inFlightTokenRequests.join(OTHER_TOKEN_CACHE_KEY, this::fetch))
+        .expectErrorSatisfies(
+            e -> assertThat(e).hasMessageContaining("Too many concurrent token requests"))
+        .verify();
+    // joining the fetch already in flight is still possible
+    StepVerifier.create(inFlightTokenRequests.join(TOKEN_CACHE_KEY, this::fetch))
+        .then(() -> idpResponse.tryEmitValue(tokenInfo()))
+        .expectNextCount(1)
+        .verifyComplete();
+    waiter.dispose();
+  }
+
+  @Test
+  void failedFetch_isRemoved() {
+    InFlightTokenRequests inFlightTokenRequests = inFlightTokenRequests(10, 30_000);
+
+    StepVerifier.create(inFlightTokenRequests.join(TOKEN_CACHE_KEY, this::fetch))
+        .then(() -> idpResponse.tryEmitError(new IllegalStateException("IDP unavailable")))
+        .expectError(IllegalStateException.class)
+        .verify();
+
+    assertThat(inFlightTokenRequests.size()).isZero();
+  }
+
+  private InFlightTokenRequests inFlightTokenRequests(int maxEntries, long maxAgeMs) {
+    return new InFlightTokenRequests(
+        maxEntries, maxAgeMs, new TokenMetrics(meterRegistry, 50), meterRegistry);
+  }
+
+  private Mono<TokenInfo> fetch() {
+    fetchCount.incrementAndGet();
+    return idpResponse.asMono().doOnCancel(() -> fetchCancelled.set(true));
+  }
+
+  private double gauge(String name) {
+    return meterRegistry.get("jumper.tokenfetch.inflight." + name).gauge().value();
+  }
+
+  private static TokenInfo tokenInfo() {
+    TokenInfo tokenInfo = new TokenInfo();
+    tokenInfo.setAccessToken("access-token");
+    tokenInfo.setExpiresIn(300);
+    return tokenInfo;
+  }
+}
@@ -0,0 +1,135 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import jumper.config.CachingConfig;
+import jumper.model.config.JumperConfig;
+import jumper.util.ObjectMapperUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import tools.jackson.databind.json.JsonMapper;
+
+class JumperConfigCacheServiceTest {
+
+  private MeterRegistry meterRegistry;
+  private JumperConfigCacheService jumperConfigCacheService;
+
+  @BeforeAll
+  static void initObjectMapper() {
+    new ObjectMapperUtil(JsonMapper.builder().build());
+  }
+
+  @BeforeEach
+  void setUp() {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    cacheManager.setAllowNullValues(false);
+    cacheManager.registerCustomCache(
+        JumperConfigCacheService.JUMPER_CONFIG_CACHE_NAME,
+        Caffeine.newBuilder().maximumSize(10).recordStats().build());
+    cacheManager.registerCustomCache(
+        JumperConfigCacheService.ROUTING_CONFIG_CACHE_NAME,
+        Caffeine.newBuilder().maximumSize(10).recordStats().build());
+
+    meterRegistry = new SimpleMeterRegistry();
+    for (String cacheName : cacheManager.getCacheNames()) {
+      CachingConfig.monitor(
+          meterRegistry,
+          ((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache(),
+          cacheName);
+    }
+    jumperConfigCacheService = new JumperConfigCacheService(cacheManager);
+  }
+
+  @Test
+  void jumperConfig_sameHeaderValue_isDecodedOnce() {
+    // arrange
+    String header = JumperConfig.toJsonBase64(jumperConfig("http://upstream.local"));
+
+    // act
+    JumperConfig first = jumperConfigCacheService.getJumperConfigTemplate(header);
+    JumperConfig second = jumperConfigCacheService.getJumperConfigTemplate(new String(header));
+
+    // assert
+    assertThat(first.getRemoteApiUrl()).isEqualTo("http://upstream.local");
+    assertThat(second).isSameAs(first);
+    assertThat(cacheGets(JumperConfigCacheService.JUMPER_CONFIG_CACHE_NAME, "hit")).isEqualTo(1);
+    assertThat(cacheGets(JumperConfigCacheService.JUMPER_CONFIG_CACHE_NAME, "miss")).isEqualTo(1);
+  }
+
+  @Test
+  void jumperConfig_differentHeaderValues_areCachedSeparately() {
+    // arrange
+    String header1 = JumperConfig.toJsonBase64(jumperConfig("http://upstream1.local"));
+    String header2 = JumperConfig.toJsonBase64(jumperConfig("http://upstream2.local"));
+
+    // act
+    JumperConfig first = jumperConfigCacheService.getJumperConfigTemplate(header1);
+    JumperConfig second = jumperConfigCacheService.getJumperConfigTemplate(header2);
+
+    // assert
+    assertThat(first.getRemoteApiUrl()).isEqualTo("http://upstream1.local");
+    assertThat(second.getRemoteApiUrl()).isEqualTo("http://upstream2.local");
+  }
+
+  @Test
+  void jumperConfig_blankHeader_returnsEmptyConfig() {
+    // act
+    JumperConfig jc = jumperConfigCacheService.getJumperConfigTemplate(null);
+
+    // assert
+    assertThat(jc.getRemoteApiUrl()).isNull();
+    assertThat(cacheGets(JumperConfigCacheService.JUMPER_CONFIG_CACHE_NAME, "miss")).isZero();
+  }
+
+  @Test
+  void routingConfig_sameHeaderValue_returnsSameUnmodifiableList() {
+    // arrange
+    String header =
+        JumperConfig.toJsonBase64(
+            List.of(
+                jumperConfig("http://upstream1.local"), jumperConfig("http://upstream2.local")));
+
+    // act
+    List<JumperConfig> first = jumperConfigCacheService.getRoutingConfigTemplates(header);
+    List<JumperConfig> second = jumperConfigCacheService.getRoutingConfigTemplates(header);
+
+    // assert
+    assertThat(first).hasSize(2);
+    assertThat(second).isSameAs(first);
+    assertThrows(UnsupportedOperationException.class, () -> first.add(new JumperConfig()));
+  }
+
+  @Test
+  void routingConfig_blankHeader_throws() {
+    assertThrows(
+        RuntimeException.class, () -> jumperConfigCacheService.getRoutingConfigTemplates(""));
+  }
+
+  private double cacheGets(String cacheName, String result) {
+    return meterRegistry
+        .get("cache.gets")
+        .tag("cache", cacheName)
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+
+  private static JumperConfig jumperConfig(String remoteApiUrl) {
+    JumperConfig jc = new JumperConfig();
+    jc.setRemoteApiUrl(remoteApiUrl);
+    jc.setApiBasePath("/base");
+    return jc;
+  }
+}
@@ -0,0 +1,188 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import jumper.model.TokenCacheKey;
+import jumper.model.TokenInfo;
+import jumper.model.config.KeyInfo;
+import jumper.util.RsaUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+import tools.jackson.databind.json.JsonMapper;
+
+@Testcontainers
+class RedisTokenCacheServiceTest {
+
+  private static final int REDIS_PORT = 6379;
+
+  @Container
+  private static final GenericContainer<?> REDIS_CONTAINER =
+      new GenericContainer<>("redis:latest")
+          .withExposedPorts(REDIS_PORT)
+          .waitingFor(Wait.forLogMessage(".*Ready to accept connections.*", 1));
+
+  private static LettuceConnectionFactory connectionFactory;
+
+  private ReactiveStringRedisTemplate redisTemplate;
+  private KeyInfoService keyInfoService;
+  private RedisTokenCacheService redisTokenCacheService;
+
+  @BeforeAll
+  static void connect() {
+    connectionFactory =
+        new LettuceConnectionFactory(
+            REDIS_CONTAINER.getHost(), REDIS_CONTAINER.getMappedPort(REDIS_PORT));
+    connectionFactory.afterPropertiesSet();
+    connectionFactory.start();
+  }
+
+  @AfterAll
+  static void disconnect() {
+    connectionFactory.destroy();
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    redisTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+    redisTemplate.execute(connection -> connection.serverCommands().flushAll()).blockLast();
+
+    KeyInfo keyInfo = new KeyInfo();
+    keyInfo.setPk(RsaUtils.getPrivateKey(Path.of("src/test/resources/keypair", "tls.key")));
+    keyInfo.setKid("kid");
+    keyInfoService = mock(KeyInfoService.class);
+    when(keyInfoService.getKeyInfo()).thenReturn(keyInfo);
+
+    redisTokenCacheService =
+        new RedisTokenCacheService(
+            redisTemplate,
+            new TokenCacheCipher(keyInfoService),
+            JsonMapper.builder().build(),
+            10,
+            30,
+            5000);
+  }
+
+  @Test
+  void savedToken_isReadBackWithItsExpiryAndTtl() {
+    TokenCacheKey key = key("client");
+    TokenInfo tokenInfo = tokenInfo(300);
+
+    StepVerifier.create(redisTokenCacheService.saveToken(key, tokenInfo)).verifyComplete();
+
+    StepVerifier.create(redisTokenCacheService.getToken(key))
+        .assertNext(
+            token -> {
+              assertThat(token.getAccessToken()).isEqualTo("access-token");
+              assertThat(token.getExpiration()).isEqualTo(tokenInfo.getExpiration());
+              assertThat(token.getReceivedAt()).isEqualTo(tokenInfo.getReceivedAt());
+            })
+        .verifyComplete();
+    StepVerifier.create(redisTemplate.keys("jumper:token:*").flatMap(redisTemplate::getExpire))
+        .assertNext(
+            ttl -> assertThat(ttl).isBetween(Duration.ofSeconds(280), Duration.ofSeconds(290)))
+        .verifyComplete();
+  }
+
+  @Test
+  void storedValue_isEncrypted() {
+    StepVerifier.create(redisTokenCacheService.saveToken(key("client"), tokenInfo(300)))
+        .verifyComplete();
+
+    StepVerifier.create(
+            redisTemplate.keys("jumper:token:*").flatMap(k -> redisTemplate.opsForValue().get(k)))
+        .assertNext(value -> assertThat(value).doesNotContain("access-token"))
+        .verifyComplete();
+  }
+
+  @Test
+  void tokenExpiringWithinTtlOffset_isNotStored() {
+    TokenCacheKey key = key("client");
+
+    StepVerifier.create(redisTokenCacheService.saveToken(key, tokenInfo(5))).verifyComplete();
+
+    StepVerifier.create(redisTokenCacheService.getToken(key)).verifyComplete();
+  }
+
+  @Test
+  void evictedToken_isGone() {
+    TokenCacheKey key = key("client");
+    redisTokenCacheService.saveToken(key, tokenInfo(300)).block();
+
+    StepVerifier.create(redisTokenCacheService.evictToken(key)).verifyComplete();
+
+    StepVerifier.create(redisTokenCacheService.getToken(key)).verifyComplete();
+  }
+
+  @Test
+  void tokenOfRotatedSigningKey_isIgnored() throws Exception {
+    TokenCacheKey key = key("client");
+    redisTokenCacheService.saveToken(key, tokenInfo(300)).block();
+    KeyInfo rotated = new KeyInfo();
+    rotated.setPk(RsaUtils.getPrivateKey(jumper.config.Config.PRIVATE_RSA_KEY_SECURE_EXAMPLE));
+    when(keyInfoService.getKeyInfo()).thenReturn(rotated);
+
+    StepVerifier.create(redisTokenCacheService.getToken(key)).verifyComplete();
+  }
+
+  @Test
+  void lock_isExclusiveUntilUnlocked() {
+    TokenCacheKey key = key("client");
+
+    StepVerifier.create(redisTokenCacheService.tryLock(key, "owner-1"))
+        .expectNext(true)
+        .verifyComplete();
+    StepVerifier.create(redisTokenCacheService.tryLock(key, "owner-2"))
+        .expectNext(false)
+        .verifyComplete();
+    StepVerifier.create(redisTokenCacheService.tryLock(key("other"), "owner-2"))
+        .expectNext(true)
+        .verifyComplete();
+
+    StepVerifier.create(redisTokenCacheService.unlock(key, "owner-1")).verifyComplete();
+    StepVerifier.create(redisTokenCacheService.tryLock(key, "owner-2"))
+        .expectNext(true)
+        .verifyComplete();
+  }
+
+  @Test
+  void unlock_byOtherOwner_keepsLock() {
+    TokenCacheKey key = key("client");
+    redisTokenCacheService.tryLock(key, "owner-1").block();
+
+    // e.g. owner-2 held the lock before it expired and owner-1 took over
+    StepVerifier.create(redisTokenCacheService.unlock(key, "owner-2")).verifyComplete();
+
+    StepVerifier.create(redisTokenCacheService.tryLock(key, "owner-2"))
+        .expectNext(false)
+        .verifyComplete();
+  }
+
+  private static TokenCacheKey key(String clientId) {
+    return TokenCacheKey.of("https://idp.example.com/token", clientId, "secret", null);
+  }
+
+  private static TokenInfo tokenInfo(int expiresIn) {
+    TokenInfo tokenInfo = new TokenInfo();
+    tokenInfo.setAccessToken("access-token");
+    tokenInfo.setTokenType("Bearer");
+    tokenInfo.setExpiresIn(expiresIn);
+    return tokenInfo;
+  }
+}
@@ -0,0 +1,227 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+class SigningSchedulerTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private SigningScheduler signingScheduler;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    signingScheduler = new SigningScheduler(1, 1, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    signingScheduler.shutdown();
+  }
+
+  @Test
+  void sign_runsOnSigningThreadAndRecordsTimings() {
+    StepVerifier.create(
+            signingScheduler.sign(() -> Thread.currentThread().getName(), Schedulers.immediate()))
+        .assertNext(threadName -> assertThat(threadName).startsWith("jumper-signing-"))
+        .verifyComplete();
+
+    assertThat(meterRegistry.get("jumper.signing.duration").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("jumper.signing.wait").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("jumper.signing.queue.size").gauge().value()).isZero();
+  }
+
+  @Test
+  void sign_continuesOnResumeScheduler() {
+    Scheduler resumeOn = Schedulers.newSingle("resume");
+    try {
+      StepVerifier.create(
+              signingScheduler
+                  .sign(() -> Thread.currentThread().getName(), resumeOn)
+                  .map(signedOn -> signedOn + " " + Thread.currentThread().getName()))
+          .assertNext(
+              threads -> assertThat(threads).matches("jumper-signing-\\d+ resume-\\d+"))
+          .verifyComplete();
+    } finally {
+      resumeOn.dispose();
+    }
+  }
+
+  @Test
+  void sign_continuesOnEventLoopOfExchange() {
+    HttpHandler httpHandler =
+        WebHttpHandlerBuilder.webHandler(
+                exchange -> {
+                  String eventLoop = Thread.currentThread().getName();
+                  return signingScheduler
+                      .sign(() -> "token", SigningScheduler.eventLoopOf(exchange))
+                      .flatMap(
+                          token -> {
+                            String threads = eventLoop + " " + Thread.currentThread().getName();
+                            DataBuffer body =
+                                exchange
+                                    .getResponse()
+                                    .bufferFactory()
+                                    .wrap(threads.getBytes(StandardCharsets.UTF_8));
+                            return exchange.getResponse().writeWith(Mono.just(body));
+                          });
+                })
+            .build();
+    DisposableServer server =
+        HttpServer.create().port(0).handle(new ReactorHttpHandlerAdapter(httpHandler)).bindNow();
+    try {
+      String threads =
+          HttpClient.create()
+              .get()
+              .uri("http://localhost:" + server.port() + "/")
+              .responseContent()
+              .aggregate()
+              .asString()
+              .block(Duration.ofSeconds(10));
+
+      String[] eventLoopAndResumed = threads.split(" ");
+      assertThat(eventLoopAndResumed[1]).isEqualTo(eventLoopAndResumed[0]);
+      assertThat(eventLoopAndResumed[1]).doesNotStartWith("jumper-signing-");
+    } finally {
+      server.disposeNow();
+    }
+  }
+
+  @Test
+  void signUnlessCached_miss_isSigned() {
+    StepVerifier.create(
+            signingScheduler.signUnlessCached(
+                Optional::empty, () -> Thread.currentThread().getName(), Schedulers.immediate()))
+        .assertNext(threadName -> assertThat(threadName).startsWith("jumper-signing-"))
+        .verifyComplete();
+
+    assertThat(meterRegistry.get("jumper.signing.duration").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void signUnlessCached_hit_neverEntersExecutor() {
+    AtomicBoolean signed = new AtomicBoolean();
+    String caller = Thread.currentThread().getName();
+
+    StepVerifier.create(
+            signingScheduler.signUnlessCached(
+                () -> Optional.of(Thread.currentThread().getName()),
+                () -> {
+                  signed.set(true);
+                  return "signed";
+                },
+                Schedulers.immediate()))
+        .assertNext(
+            servedOn -> {
+              assertThat(servedOn).isEqualTo(caller);
+              assertThat(meterRegistry.get("jumper.signing.queue.size").gauge().value()).isZero();
+              assertThat(meterRegistry.get("jumper.signing.active").gauge().value()).isZero();
+            })
+        .verifyComplete();
+
+    assertThat(signed).isFalse();
+    assertThat(meterRegistry.get("jumper.signing.wait").timer().count()).isZero();
+    assertThat(meterRegistry.get("jumper.signing.duration").timer().count()).isZero();
+  }
+
+  @Test
+  void signUnlessCached_hit_isServedWhilePoolIsSaturated() throws InterruptedException {
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    // occupy the only thread and the only queue slot
+    Disposable blocking =
+        signingScheduler
+            .sign(
+                () -> {
+                  running.countDown();
+                  return release.await(5, TimeUnit.SECONDS);
+                },
+                Schedulers.immediate())
+            .subscribe();
+    assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+    Disposable queued = signingScheduler.sign(() -> "queued", Schedulers.immediate()).subscribe();
+
+    try {
+      StepVerifier.create(
+              signingScheduler.signUnlessCached(
+                  () -> Optional.of("cached"), () -> "signed", Schedulers.immediate()))
+          .expectNext("cached")
+          .verifyComplete();
+    } finally {
+      release.countDown();
+      blocking.dispose();
+      queued.dispose();
+    }
+  }
+
+  @Test
+  void eventLoopOf_withoutNettyConnection_isParallelScheduler() {
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+
+    assertThat(SigningScheduler.eventLoopOf(exchange)).isSameAs(Schedulers.parallel());
+  }
+
+  @Test
+  void sign_saturatedQueue_isRejectedWith503() throws InterruptedException {
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    // occupy the only thread and the only queue slot
+    Disposable blocking =
+        signingScheduler
+            .sign(
+                () -> {
+                  running.countDown();
+                  return release.await(5, TimeUnit.SECONDS);
+                },
+                Schedulers.immediate())
+            .subscribe();
+    assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+    Disposable queued = signingScheduler.sign(() -> "queued", Schedulers.immediate()).subscribe();
+    assertThat(meterRegistry.get("jumper.signing.queue.size").gauge().value()).isEqualTo(1);
+
+    try {
+      StepVerifier.create(signingScheduler.sign(() -> "rejected", Schedulers.immediate()))
+          .expectErrorSatisfies(
+              e -> {
+                assertThat(e).isInstanceOf(ResponseStatusException.class);
+                assertThat(((ResponseStatusException) e).getStatusCode().value()).isEqualTo(503);
+              })
+          .verify(Duration.ofSeconds(5));
+    } finally {
+      release.countDown();
+      blocking.dispose();
+      queued.dispose();
+    }
+  }
+}
@@ -0,0 +1,68 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import jumper.model.config.KeyInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TokenCacheCipherTest {
+
+  private KeyInfoService keyInfoService;
+  private TokenCacheCipher tokenCacheCipher;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    keyInfoService = mock(KeyInfoService.class);
+    when(keyInfoService.getKeyInfo()).thenReturn(keyInfo());
+    tokenCacheCipher = new TokenCacheCipher(keyInfoService);
+  }
+
+  @Test
+  void encryptAndDecrypt_roundTrip() throws Exception {
+    byte[] plaintext = "{\"access_token\":\"secret\"}".getBytes(StandardCharsets.UTF_8);
+
+    byte[] encrypted = tokenCacheCipher.encrypt(plaintext);
+
+    assertThat(new String(encrypted, StandardCharsets.ISO_8859_1)).doesNotContain("secret");
+    assertThat(tokenCacheCipher.decrypt(encrypted)).isEqualTo(plaintext);
+  }
+
+  @Test
+  void decrypt_afterKeyRotation_fails() throws Exception {
+    byte[] encrypted = tokenCacheCipher.encrypt("token".getBytes(StandardCharsets.UTF_8));
+    KeyInfo rotated = keyInfo();
+    when(keyInfoService.getKeyInfo()).thenReturn(rotated);
+
+    assertThatThrownBy(() -> tokenCacheCipher.decrypt(encrypted))
+        .isInstanceOf(GeneralSecurityException.class);
+  }
+
+  @Test
+  void decrypt_tamperedData_fails() throws Exception {
+    byte[] encrypted = tokenCacheCipher.encrypt("token".getBytes(StandardCharsets.UTF_8));
+    encrypted[encrypted.length - 1] ^= 1;
+
+    assertThatThrownBy(() -> tokenCacheCipher.decrypt(encrypted))
+        .isInstanceOf(GeneralSecurityException.class);
+  }
+
+  private static KeyInfo keyInfo() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    KeyInfo keyInfo = new KeyInfo();
+    keyInfo.setPk(generator.generateKeyPair().getPrivate());
+    keyInfo.setKid("kid");
+    return keyInfo;
+  }
+}
@@ -0,0 +1,126 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import jumper.model.TokenCacheKey;
+import jumper.model.TokenInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class TokenCacheServiceTest {
+
+  private static final TokenCacheKey TOKEN_CACHE_KEY =
+      TokenCacheKey.of("https://idp.example.com/token", "client", "secret", null);
+
+  private RedisTokenCacheService redisTokenCacheService;
+  private TokenCacheService tokenCacheService;
+  private AtomicInteger fetchCount;
+  private Mono<TokenInfo> fetch;
+
+  @BeforeEach
+  void setUp() {
+    redisTokenCacheService = mock(RedisTokenCacheService.class);
+    when(redisTokenCacheService.getLockTimeout()).thenReturn(Duration.ofSeconds(1));
+    when(redisTokenCacheService.saveToken(any(), any())).thenReturn(Mono.empty());
+    when(redisTokenCacheService.unlock(any(), any())).thenReturn(Mono.empty());
+    tokenCacheService =
+        new TokenCacheService(
+            new CaffeineCacheManager("cache-token-info"), Optional.of(redisTokenCacheService));
+
+    fetchCount = new AtomicInteger();
+    fetch = Mono.fromSupplier(() -> tokenInfo("fetched-" + fetchCount.incrementAndGet()));
+  }
+
+  @Test
+  void sharedTokenPresent_isUsedAndCachedLocally() {
+    TokenInfo shared = tokenInfo("shared");
+    when(redisTokenCacheService.getToken(TOKEN_CACHE_KEY)).thenReturn(Mono.just(shared));
+
+    StepVerifier.create(tokenCacheService.loadThroughSharedCache(TOKEN_CACHE_KEY, fetch))
+        .expectNext(shared)
+        .verifyComplete();
+
+    assertThat(fetchCount).hasValue(0);
+    assertThat(tokenCacheService.getToken(TOKEN_CACHE_KEY)).contains(shared);
+  }
+
+  @Test
+  void sharedTokenMissing_lockHolderFetchesAndShares() {
+    when(redisTokenCacheService.getToken(TOKEN_CACHE_KEY)).thenReturn(Mono.empty());
+    when(redisTokenCacheService.tryLock(eq(TOKEN_CACHE_KEY), anyString()))
+        .thenReturn(Mono.just(true));
+
+    StepVerifier.create(tokenCacheService.loadThroughSharedCache(TOKEN_CACHE_KEY, fetch))
+        .assertNext(token -> assertThat(token.getAccessToken()).isEqualTo("fetched-1"))
+        .verifyComplete();
+
+    verify(redisTokenCacheService).saveToken(any(), any());
+    ArgumentCaptor<String> lockOwner = ArgumentCaptor.forClass(String.class);
+    verify(redisTokenCacheService).tryLock(eq(TOKEN_CACHE_KEY), lockOwner.capture());
+    verify(redisTokenCacheService).unlock(TOKEN_CACHE_KEY, lockOwner.getValue());
+  }
+
+  @Test
+  void lockHeldByOtherReplica_waitsForSharedToken() {
+    TokenInfo shared = tokenInfo("shared");
+    AtomicInteger lookups = new AtomicInteger();
+    when(redisTokenCacheService.getToken(TOKEN_CACHE_KEY))
+        .thenReturn(
+            Mono.defer(() -> lookups.incrementAndGet() < 3 ? Mono.empty() : Mono.just(shared)));
+    when(redisTokenCacheService.tryLock(eq(TOKEN_CACHE_KEY), anyString()))
+        .thenReturn(Mono.just(false));
+
+    StepVerifier.create(tokenCacheService.loadThroughSharedCache(TOKEN_CACHE_KEY, fetch))
+        .expectNext(shared)
+        .verifyComplete();
+
+    assertThat(fetchCount).hasValue(0);
+    verify(redisTokenCacheService, never()).saveToken(any(), any());
+  }
+
+  @Test
+  void lockHeldByOtherReplica_fetchesItselfAfterLockTimeout() {
+    when(redisTokenCacheService.getToken(TOKEN_CACHE_KEY)).thenReturn(Mono.empty());
+    when(redisTokenCacheService.tryLock(eq(TOKEN_CACHE_KEY), anyString()))
+        .thenReturn(Mono.just(false));
+
+    StepVerifier.create(tokenCacheService.loadThroughSharedCache(TOKEN_CACHE_KEY, fetch))
+        .assertNext(token -> assertThat(token.getAccessToken()).isEqualTo("fetched-1"))
+        .verifyComplete();
+  }
+
+  @Test
+  void withoutSharedCache_justFetches() {
+    tokenCacheService =
+        new TokenCacheService(new CaffeineCacheManager("cache-token-info"), Optional.empty());
+
+    StepVerifier.create(tokenCacheService.loadThroughSharedCache(TOKEN_CACHE_KEY, fetch))
+        .assertNext(token -> assertThat(token.getAccessToken()).isEqualTo("fetched-1"))
+        .verifyComplete();
+  }
+
+  private static TokenInfo tokenInfo(String accessToken) {
+    TokenInfo tokenInfo = new TokenInfo();
+    tokenInfo.setAccessToken(accessToken);
+    tokenInfo.setExpiresIn(300);
+    return tokenInfo;
+  }
+}
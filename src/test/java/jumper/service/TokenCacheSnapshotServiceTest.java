@@ -0,0 +1,139 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPairGenerator;
+import java.util.Optional;
+import jumper.model.TokenCacheKey;
+import jumper.model.TokenInfo;
+import jumper.model.config.KeyInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import tools.jackson.databind.json.JsonMapper;
+
+class TokenCacheSnapshotServiceTest {
+
+  @TempDir private Path tempDir;
+
+  private KeyInfoService keyInfoService;
+  private Path snapshotFile;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    keyInfoService = mock(KeyInfoService.class);
+    when(keyInfoService.getKeyInfo()).thenReturn(keyInfo());
+    snapshotFile = tempDir.resolve("snapshot").resolve("token-cache.snapshot");
+  }
+
+  @Test
+  void snapshot_isRestoredIntoNewCache() {
+    TokenCacheKey key = key("client");
+    TokenCacheService oldCache = tokenCacheService();
+    oldCache.saveToken(key, tokenInfo("access-token", 300));
+
+    snapshotService(oldCache).writeSnapshot();
+
+    assertThat(snapshotFile).exists();
+    TokenCacheService newCache = tokenCacheService();
+    assertThat(snapshotService(newCache).restoreSnapshot()).isEqualTo(1);
+    assertThat(newCache.getToken(key))
+        .get()
+        .extracting(TokenInfo::getAccessToken)
+        .isEqualTo("access-token");
+    assertThat(snapshotFile).doesNotExist();
+  }
+
+  @Test
+  void snapshot_isEncrypted() throws Exception {
+    TokenCacheService cache = tokenCacheService();
+    cache.saveToken(key("client"), tokenInfo("access-token", 300));
+
+    snapshotService(cache).writeSnapshot();
+
+    assertThat(new String(Files.readAllBytes(snapshotFile), StandardCharsets.ISO_8859_1))
+        .doesNotContain("access-token")
+        .doesNotContain("client");
+  }
+
+  @Test
+  void expiredTokens_areDroppedOnRestore() {
+    TokenCacheService oldCache = tokenCacheService();
+    oldCache.saveToken(key("long-lived"), tokenInfo("long-lived-token", 300));
+    oldCache.saveToken(key("short-lived"), tokenInfo("short-lived-token", 30));
+    snapshotService(oldCache, 10).writeSnapshot();
+
+    // a ttlOffset of 60s lets the short-lived token count as expired, as after a slow restart
+    TokenCacheService newCache = tokenCacheService();
+    assertThat(snapshotService(newCache, 60).restoreSnapshot()).isEqualTo(1);
+    assertThat(newCache.getToken(key("long-lived"))).isPresent();
+    assertThat(newCache.getToken(key("short-lived"))).isEmpty();
+  }
+
+  @Test
+  void snapshotOfRotatedSigningKey_isIgnoredAndDeleted() throws Exception {
+    TokenCacheService oldCache = tokenCacheService();
+    oldCache.saveToken(key("client"), tokenInfo("access-token", 300));
+    snapshotService(oldCache).writeSnapshot();
+    when(keyInfoService.getKeyInfo()).thenReturn(keyInfo());
+
+    TokenCacheService newCache = tokenCacheService();
+    assertThat(snapshotService(newCache).restoreSnapshot()).isZero();
+    assertThat(newCache.getToken(key("client"))).isEmpty();
+    assertThat(snapshotFile).doesNotExist();
+  }
+
+  @Test
+  void missingSnapshot_restoresNothing() {
+    assertThat(snapshotService(tokenCacheService()).restoreSnapshot()).isZero();
+  }
+
+  private TokenCacheSnapshotService snapshotService(TokenCacheService tokenCacheService) {
+    return snapshotService(tokenCacheService, 10);
+  }
+
+  private TokenCacheSnapshotService snapshotService(
+      TokenCacheService tokenCacheService, int ttlOffset) {
+    return new TokenCacheSnapshotService(
+        tokenCacheService,
+        new TokenCacheCipher(keyInfoService),
+        JsonMapper.builder().build(),
+        snapshotFile,
+        ttlOffset);
+  }
+
+  private static TokenCacheService tokenCacheService() {
+    return new TokenCacheService(new CaffeineCacheManager("cache-token-info"), Optional.empty());
+  }
+
+  private static TokenCacheKey key(String clientId) {
+    return TokenCacheKey.of("https://idp.example.com/token", clientId, "secret", "openid");
+  }
+
+  private static TokenInfo tokenInfo(String accessToken, int expiresIn) {
+    TokenInfo tokenInfo = new TokenInfo();
+    tokenInfo.setAccessToken(accessToken);
+    tokenInfo.setTokenType("Bearer");
+    tokenInfo.setExpiresIn(expiresIn);
+    return tokenInfo;
+  }
+
+  private static KeyInfo keyInfo() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    KeyInfo keyInfo = new KeyInfo();
+    keyInfo.setPk(generator.generateKeyPair().getPrivate());
+    keyInfo.setKid("kid");
+    return keyInfo;
+  }
+}
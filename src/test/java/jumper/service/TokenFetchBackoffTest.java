@@ -0,0 +1,97 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import jumper.model.TokenCacheKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class TokenFetchBackoffTest {
+
+  private static final TokenCacheKey TOKEN_CACHE_KEY =
+      TokenCacheKey.of("https://idp.example.com/token", "client", "secret", null);
+
+  private SimpleMeterRegistry meterRegistry;
+  private TokenFetchBackoff tokenFetchBackoff;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    tokenFetchBackoff = new TokenFetchBackoff(200, 1000, 100, meterRegistry);
+  }
+
+  @Test
+  void failure_isReturnedDuringBackoff() {
+    tokenFetchBackoff.recordFailure(
+        TOKEN_CACHE_KEY,
+        new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Timeout occurred"));
+
+    assertThat(tokenFetchBackoff.suppressedFailure(TOKEN_CACHE_KEY))
+        .get()
+        .satisfies(
+            e -> {
+              assertThat(e.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+              assertThat(e.getReason()).isEqualTo("Timeout occurred");
+            });
+    assertThat(meterRegistry.get("jumper.tokencache.negative.suppressed").counter().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("jumper.tokencache.negative.failures").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void otherFailures_areReturnedAsUnauthorized() {
+    tokenFetchBackoff.recordFailure(TOKEN_CACHE_KEY, new RuntimeException("IDP unavailable"));
+
+    assertThat(tokenFetchBackoff.suppressedFailure(TOKEN_CACHE_KEY))
+        .get()
+        .extracting(ResponseStatusException::getStatusCode)
+        .isEqualTo(HttpStatus.UNAUTHORIZED);
+  }
+
+  @Test
+  void backoff_passes() {
+    tokenFetchBackoff.recordFailure(TOKEN_CACHE_KEY, new RuntimeException("IDP unavailable"));
+
+    await()
+        .atMost(Duration.ofSeconds(2))
+        .until(() -> tokenFetchBackoff.suppressedFailure(TOKEN_CACHE_KEY).isEmpty());
+  }
+
+  @Test
+  void consecutiveFailures_doubleTheBackoff() throws InterruptedException {
+    tokenFetchBackoff.recordFailure(TOKEN_CACHE_KEY, new RuntimeException("IDP unavailable"));
+    tokenFetchBackoff.recordFailure(TOKEN_CACHE_KEY, new RuntimeException("IDP unavailable"));
+
+    // the second failure backs off for 400ms
+    Thread.sleep(250);
+    assertThat(tokenFetchBackoff.suppressedFailure(TOKEN_CACHE_KEY)).isPresent();
+  }
+
+  @Test
+  void success_resetsBackoff() {
+    tokenFetchBackoff.recordFailure(TOKEN_CACHE_KEY, new RuntimeException("IDP unavailable"));
+
+    tokenFetchBackoff.recordSuccess(TOKEN_CACHE_KEY);
+
+    assertThat(tokenFetchBackoff.suppressedFailure(TOKEN_CACHE_KEY)).isEmpty();
+  }
+
+  @Test
+  void zeroInitialBackoff_disablesNegativeCaching() {
+    tokenFetchBackoff = new TokenFetchBackoff(0, 1000, 100, new SimpleMeterRegistry());
+
+    tokenFetchBackoff.recordFailure(TOKEN_CACHE_KEY, new RuntimeException("IDP unavailable"));
+
+    assertThat(tokenFetchBackoff.suppressedFailure(TOKEN_CACHE_KEY)).isEmpty();
+  }
+}
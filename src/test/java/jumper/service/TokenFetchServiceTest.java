@@ -7,16 +7,20 @@ package jumper.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.*;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
+import jumper.model.TokenCacheKey;
 import jumper.model.TokenInfo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -25,11 +29,16 @@ class TokenFetchServiceTest {
   private static final String TOKEN_ENDPOINT = "https://idp.example.com/token";
   private static final String CLIENT_ID = "test-client";
   private static final String CLIENT_SECRET = "test-secret";
-  private static final String TOKEN_CACHE_KEY = "test-cache-key";
+  private static final TokenCacheKey TOKEN_CACHE_KEY =
+      TokenCacheKey.of(TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null);
 
   private TokenCacheService tokenCacheService;
   private TokenGeneratorService tokenGeneratorService;
   private TokenFetchService tokenFetchService;
+  private SimpleMeterRegistry meterRegistry;
+  private TokenFetchBackoff tokenFetchBackoff;
+  private TokenMetrics tokenMetrics;
+  private InFlightTokenRequests inFlightTokenRequests;
 
   private AtomicInteger idpCallCount;
 
@@ -38,13 +47,25 @@ class TokenFetchServiceTest {
     tokenCacheService = mock(TokenCacheService.class);
     tokenGeneratorService = mock(TokenGeneratorService.class);
     idpCallCount = new AtomicInteger(0);
-
-    when(tokenCacheService.generateTokenCacheKey(anyString(), anyString(), anyString(), any()))
-        .thenReturn(TOKEN_CACHE_KEY);
+    meterRegistry = new SimpleMeterRegistry();
+    // negative caching disabled, see failedIdpCall_backsOff_failsFastUntilBackoffPassed
+    tokenFetchBackoff = new TokenFetchBackoff(0, 0, 100, meterRegistry);
+    tokenMetrics = new TokenMetrics(meterRegistry, 50);
+    inFlightTokenRequests = new InFlightTokenRequests(1000, 30_000, tokenMetrics, meterRegistry);
+    when(tokenCacheService.loadThroughSharedCache(any(), any()))
+        .thenAnswer(invocation -> invocation.getArgument(1));
 
     WebClient webClient = mockWebClient(createTokenInfo(3600), Duration.ZERO);
 
-    tokenFetchService = new TokenFetchService(webClient, tokenCacheService, tokenGeneratorService);
+    tokenFetchService =
+        new TokenFetchService(
+            webClient,
+            tokenCacheService,
+            tokenGeneratorService,
+            meterRegistry,
+            tokenFetchBackoff,
+            tokenMetrics,
+            inFlightTokenRequests);
   }
 
   @Test
@@ -53,7 +74,7 @@ class TokenFetchServiceTest {
 
     StepVerifier.create(
             tokenFetchService.getAccessTokenWithClientCredentials(
-                TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
+                TOKEN_CACHE_KEY, TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
         .assertNext(
             token -> {
               assertThat(token.getAccessToken()).isEqualTo("mocked-access-token");
@@ -62,6 +83,15 @@ class TokenFetchServiceTest {
         .verifyComplete();
 
     verify(tokenCacheService).saveToken(eq(TOKEN_CACHE_KEY), any(TokenInfo.class));
+    assertThat(lookups("miss")).isEqualTo(1);
+    assertThat(
+            meterRegistry
+                .get("jumper.tokenfetch.duration")
+                .tag("host", "idp.example.com")
+                .tag("outcome", "success")
+                .timer()
+                .count())
+        .isEqualTo(1);
   }
 
   @Test
@@ -71,7 +101,7 @@ class TokenFetchServiceTest {
 
     StepVerifier.create(
             tokenFetchService.getAccessTokenWithClientCredentials(
-                TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
+                TOKEN_CACHE_KEY, TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
         .assertNext(
             token -> {
               assertThat(token.getAccessToken()).isEqualTo("mocked-access-token");
@@ -79,7 +109,8 @@ class TokenFetchServiceTest {
             })
         .verifyComplete();
 
-    verify(tokenCacheService, never()).saveToken(anyString(), any(TokenInfo.class));
+    verify(tokenCacheService, never()).saveToken(any(), any(TokenInfo.class));
+    assertThat(lookups("hit")).isEqualTo(1);
   }
 
   @Test
@@ -89,7 +120,14 @@ class TokenFetchServiceTest {
     // Recreate with a slow IDP response to widen the race window
     WebClient slowWebClient = mockWebClient(createTokenInfo(3600), Duration.ofMillis(200));
     tokenFetchService =
-        new TokenFetchService(slowWebClient, tokenCacheService, tokenGeneratorService);
+        new TokenFetchService(
+            slowWebClient,
+            tokenCacheService,
+            tokenGeneratorService,
+            meterRegistry,
+            tokenFetchBackoff,
+            tokenMetrics,
+            inFlightTokenRequests);
 
     int concurrentRequests = 50;
     CountDownLatch startLatch = new CountDownLatch(1);
@@ -107,7 +145,7 @@ class TokenFetchServiceTest {
                 }
                 tokenFetchService
                     .getAccessTokenWithClientCredentials(
-                        TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null)
+                        TOKEN_CACHE_KEY, TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null)
                     .doOnNext(token -> successCount.incrementAndGet())
                     .block(Duration.ofSeconds(5));
                 doneLatch.countDown();
@@ -128,31 +166,36 @@ class TokenFetchServiceTest {
     assertThat(idpCallCount.get())
         .as("Expected exactly 1 IDP call for %d concurrent requests", concurrentRequests)
         .isEqualTo(1);
+    assertThat(coalescing("originated")).isEqualTo(1);
+    assertThat(coalescing("joined")).isEqualTo(concurrentRequests - 1);
   }
 
   @Test
   void concurrentRequests_differentKeys_makesSeparateIdpCalls() {
-    String tokenKey1 = "key-zone-A";
-    String tokenKey2 = "key-zone-B";
+    String tokenEndpoint1 = "https://zone-a.example.com/token";
+    String tokenEndpoint2 = "https://zone-b.example.com/token";
+    TokenCacheKey tokenKey1 = TokenCacheKey.of(tokenEndpoint1, CLIENT_ID, CLIENT_SECRET, null);
+    TokenCacheKey tokenKey2 = TokenCacheKey.of(tokenEndpoint2, CLIENT_ID, CLIENT_SECRET, null);
 
-    when(tokenCacheService.generateTokenCacheKey(
-            eq("https://zone-a.example.com/token"), anyString(), anyString(), any()))
-        .thenReturn(tokenKey1);
-    when(tokenCacheService.generateTokenCacheKey(
-            eq("https://zone-b.example.com/token"), anyString(), anyString(), any()))
-        .thenReturn(tokenKey2);
-    when(tokenCacheService.getToken(anyString())).thenReturn(Optional.empty());
+    when(tokenCacheService.getToken(any())).thenReturn(Optional.empty());
 
     WebClient slowWebClient = mockWebClient(createTokenInfo(3600), Duration.ofMillis(100));
     tokenFetchService =
-        new TokenFetchService(slowWebClient, tokenCacheService, tokenGeneratorService);
+        new TokenFetchService(
+            slowWebClient,
+            tokenCacheService,
+            tokenGeneratorService,
+            meterRegistry,
+            tokenFetchBackoff,
+            tokenMetrics,
+            inFlightTokenRequests);
 
     Mono<TokenInfo> zoneA =
         tokenFetchService.getAccessTokenWithClientCredentials(
-            "https://zone-a.example.com/token", CLIENT_ID, CLIENT_SECRET, null);
+            tokenKey1, tokenEndpoint1, CLIENT_ID, CLIENT_SECRET, null);
     Mono<TokenInfo> zoneB =
         tokenFetchService.getAccessTokenWithClientCredentials(
-            "https://zone-b.example.com/token", CLIENT_ID, CLIENT_SECRET, null);
+            tokenKey2, tokenEndpoint2, CLIENT_ID, CLIENT_SECRET, null);
 
     StepVerifier.create(Mono.zip(zoneA, zoneB))
         .assertNext(
@@ -173,7 +216,7 @@ class TokenFetchServiceTest {
     // First request
     StepVerifier.create(
             tokenFetchService.getAccessTokenWithClientCredentials(
-                TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
+                TOKEN_CACHE_KEY, TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
         .expectNextCount(1)
         .verifyComplete();
 
@@ -182,7 +225,7 @@ class TokenFetchServiceTest {
     // Second request (cache still empty — simulates eviction)
     StepVerifier.create(
             tokenFetchService.getAccessTokenWithClientCredentials(
-                TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
+                TOKEN_CACHE_KEY, TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
         .expectNextCount(1)
         .verifyComplete();
 
@@ -197,25 +240,181 @@ class TokenFetchServiceTest {
 
     // Wire up a WebClient that fails first, then succeeds on the next call
     WebClient webClient = mockFailThenSucceedWebClient(createTokenInfo(3600));
-    tokenFetchService = new TokenFetchService(webClient, tokenCacheService, tokenGeneratorService);
+    tokenFetchService =
+        new TokenFetchService(
+            webClient,
+            tokenCacheService,
+            tokenGeneratorService,
+            meterRegistry,
+            tokenFetchBackoff,
+            tokenMetrics,
+            inFlightTokenRequests);
 
     // First request fails
     StepVerifier.create(
             tokenFetchService.getAccessTokenWithClientCredentials(
-                TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
+                TOKEN_CACHE_KEY, TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
         .expectError()
         .verify(Duration.ofSeconds(5));
 
     // Second request on the SAME instance succeeds — proves the in-flight entry was cleaned up
     StepVerifier.create(
             tokenFetchService.getAccessTokenWithClientCredentials(
-                TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
+                TOKEN_CACHE_KEY, TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
         .assertNext(token -> assertThat(token.getAccessToken()).isEqualTo("mocked-access-token"))
         .verifyComplete();
   }
 
+  @Test
+  void failedIdpCall_backsOff_failsFastUntilBackoffPassed() {
+    when(tokenCacheService.getToken(TOKEN_CACHE_KEY)).thenReturn(Optional.empty());
+
+    WebClient webClient = mockFailThenSucceedWebClient(createTokenInfo(3600));
+    // a fresh registry, the gauges of the backoff from setUp would shadow the ones of this backoff
+    meterRegistry = new SimpleMeterRegistry();
+    tokenFetchBackoff = new TokenFetchBackoff(300, 1000, 100, meterRegistry);
+    tokenFetchService =
+        new TokenFetchService(
+            webClient,
+            tokenCacheService,
+            tokenGeneratorService,
+            meterRegistry,
+            tokenFetchBackoff,
+            tokenMetrics,
+            inFlightTokenRequests);
+
+    StepVerifier.create(
+            tokenFetchService.getAccessTokenWithClientCredentials(
+                TOKEN_CACHE_KEY, TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
+        .expectError()
+        .verify(Duration.ofSeconds(5));
+
+    // within the backoff the cached failure is returned without calling the IdP
+    StepVerifier.create(
+            tokenFetchService.getAccessTokenWithClientCredentials(
+                TOKEN_CACHE_KEY, TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
+        .expectError(ResponseStatusException.class)
+        .verify(Duration.ofSeconds(5));
+    assertThat(meterRegistry.get("jumper.tokencache.negative.suppressed").counter().count())
+        .isEqualTo(1);
+
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(
+            () ->
+                StepVerifier.create(
+                        tokenFetchService.getAccessTokenWithClientCredentials(
+                            TOKEN_CACHE_KEY, TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
+                    .assertNext(
+                        token ->
+                            assertThat(token.getAccessToken()).isEqualTo("mocked-access-token"))
+                    .verifyComplete());
+    assertThat(meterRegistry.get("jumper.tokencache.negative.size").gauge().value()).isZero();
+  }
+
+  @Test
+  void cacheHit_refreshAheadDue_returnsCachedTokenAndRefreshesInBackground() {
+    TokenInfo cachedToken = createTokenInfo(60);
+    cachedToken.setAccessToken("cached-access-token");
+    when(tokenCacheService.getToken(TOKEN_CACHE_KEY)).thenReturn(Optional.of(cachedToken));
+    when(tokenCacheService.isRefreshAheadDue(cachedToken)).thenReturn(true);
+
+    WebClient slowWebClient = mockWebClient(createTokenInfo(3600), Duration.ofMillis(200));
+    tokenFetchService =
+        new TokenFetchService(
+            slowWebClient,
+            tokenCacheService,
+            tokenGeneratorService,
+            meterRegistry,
+            tokenFetchBackoff,
+            tokenMetrics,
+            inFlightTokenRequests);
+
+    // two requests while the refresh is running get the cached token, only one refresh is made
+    for (int i = 0; i < 2; i++) {
+      StepVerifier.create(
+              tokenFetchService.getAccessTokenWithClientCredentials(
+                  TOKEN_CACHE_KEY, TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
+          .assertNext(
+              token -> assertThat(token.getAccessToken()).isEqualTo("cached-access-token"))
+          .verifyComplete();
+    }
+
+    verify(tokenCacheService, timeout(5000)).saveToken(eq(TOKEN_CACHE_KEY), any(TokenInfo.class));
+    assertThat(idpCallCount.get()).isEqualTo(1);
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(
+            () -> {
+              assertThat(
+                      meterRegistry
+                          .get("jumper.tokencache.refresh")
+                          .tag("result", "success")
+                          .counter()
+                          .count())
+                  .isEqualTo(1);
+              assertThat(meterRegistry.get("jumper.tokencache.refresh.lead").timer().count())
+                  .isEqualTo(1);
+            });
+  }
+
+  @Test
+  void cacheHit_refreshAheadFails_keepsCachedToken() {
+    TokenInfo cachedToken = createTokenInfo(60);
+    when(tokenCacheService.getToken(TOKEN_CACHE_KEY)).thenReturn(Optional.of(cachedToken));
+    when(tokenCacheService.isRefreshAheadDue(cachedToken)).thenReturn(true);
+
+    WebClient webClient = mockFailThenSucceedWebClient(createTokenInfo(3600));
+    tokenFetchService =
+        new TokenFetchService(
+            webClient,
+            tokenCacheService,
+            tokenGeneratorService,
+            meterRegistry,
+            tokenFetchBackoff,
+            tokenMetrics,
+            inFlightTokenRequests);
+
+    StepVerifier.create(
+            tokenFetchService.getAccessTokenWithClientCredentials(
+                TOKEN_CACHE_KEY, TOKEN_ENDPOINT, CLIENT_ID, CLIENT_SECRET, null))
+        .expectNext(cachedToken)
+        .verifyComplete();
+
+    await()
+        .atMost(Duration.ofSeconds(5))
+        .untilAsserted(
+            () ->
+                assertThat(
+                        meterRegistry
+                            .get("jumper.tokencache.refresh")
+                            .tag("result", "failure")
+                            .counter()
+                            .count())
+                    .isEqualTo(1));
+    verify(tokenCacheService, never()).evictToken(any());
+  }
+
   // --- helpers ---
 
+  private double lookups(String result) {
+    return meterRegistry
+        .get("jumper.tokencache.lookups")
+        .tag("host", "idp.example.com")
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+
+  private double coalescing(String result) {
+    return meterRegistry
+        .get("jumper.tokenfetch.coalescing")
+        .tag("host", "idp.example.com")
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+
   private TokenInfo createTokenInfo(int expiresInSeconds) {
     TokenInfo tokenInfo = new TokenInfo();
     tokenInfo.setAccessToken("mocked-access-token");
@@ -0,0 +1,80 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jumper.model.TokenCacheKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TokenMetricsTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private TokenMetrics tokenMetrics;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    tokenMetrics = new TokenMetrics(meterRegistry, 2);
+  }
+
+  @Test
+  void hostTag_isTheTokenEndpointHost() {
+    assertThat(tokenMetrics.hostTag(key("https://idp.example.com:8443/realms/default/token")))
+        .isEqualTo("idp.example.com");
+  }
+
+  @Test
+  void hostTags_areBounded() {
+    tokenMetrics.recordLookup(key("https://idp-a.example.com/token"), true);
+    tokenMetrics.recordLookup(key("https://idp-b.example.com/token"), true);
+    tokenMetrics.recordLookup(key("https://idp-c.example.com/token"), true);
+    tokenMetrics.recordLookup(key("https://idp-d.example.com/token"), true);
+    // known hosts keep their tag
+    tokenMetrics.recordLookup(key("https://idp-a.example.com/other-realm/token"), false);
+
+    assertThat(meterRegistry.get("jumper.tokencache.lookups").counters())
+        .extracting(counter -> counter.getId().getTag("host"))
+        .containsExactlyInAnyOrder(
+            "idp-a.example.com", "idp-a.example.com", "idp-b.example.com", TokenMetrics.OTHER_HOST);
+    assertThat(
+            meterRegistry
+                .get("jumper.tokencache.lookups")
+                .tag("host", TokenMetrics.OTHER_HOST)
+                .counter()
+                .count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  void invalidEndpoint_isTaggedOther() {
+    assertThat(tokenMetrics.hostTag(key("not a url"))).isEqualTo(TokenMetrics.OTHER_HOST);
+    assertThat(tokenMetrics.hostTag(key(null))).isEqualTo(TokenMetrics.OTHER_HOST);
+  }
+
+  @Test
+  void eviction_isCountedPerStatus() {
+    TokenCacheKey tokenKey = key("https://idp.example.com/token");
+
+    tokenMetrics.recordEviction(tokenKey, 401);
+    tokenMetrics.recordEviction(tokenKey, 401);
+    tokenMetrics.recordEviction(tokenKey, 403);
+
+    assertThat(
+            meterRegistry
+                .get("jumper.tokencache.evictions")
+                .tag("host", "idp.example.com")
+                .tag("status", "401")
+                .counter()
+                .count())
+        .isEqualTo(2);
+  }
+
+  private static TokenCacheKey key(String tokenEndpoint) {
+    return TokenCacheKey.of(tokenEndpoint, "client", "secret", null);
+  }
+}
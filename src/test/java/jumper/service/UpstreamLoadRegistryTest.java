@@ -0,0 +1,176 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import jumper.model.config.LoadBalancing;
+import jumper.model.config.LoadBalancingStrategy;
+import jumper.model.config.Server;
+import jumper.service.UpstreamLoadRegistry.UpstreamLoad;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UpstreamLoadRegistryTest {
+
+  private static final String FAST = "http://fast.local";
+  private static final String SLOW = "http://slow.local";
+
+  private UpstreamLoadRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry = new UpstreamLoadRegistry(0.5, 3);
+  }
+
+  @Test
+  void startAndFinish_trackOutstandingRequestsAndLatency() {
+    UpstreamLoad first = registry.start(FAST);
+    UpstreamLoad second = registry.start(FAST);
+    assertThat(first).isSameAs(second);
+    assertThat(first.getOutstanding()).isEqualTo(2);
+
+    first.finish(100);
+    second.finish(300);
+
+    assertThat(first.getOutstanding()).isZero();
+    assertThat(first.getLatencyNanos()).isEqualTo(200);
+  }
+
+  @Test
+  void compareLoad_withoutLatency_comparesOutstandingRequests() {
+    registry.start(SLOW);
+
+    assertThat(registry.compareLoad(FAST, SLOW)).isNegative();
+    assertThat(registry.compareLoad(SLOW, FAST)).isPositive();
+  }
+
+  @Test
+  void compareLoad_weighsOutstandingRequestsByLatency() {
+    registry.start(FAST).finish(10);
+    registry.start(SLOW).finish(100);
+    for (int i = 0; i < 5; i++) {
+      registry.start(FAST);
+    }
+
+    // fast: (5 + 1) * 10 = 60, slow: (0 + 1) * 100 = 100
+    assertThat(registry.compareLoad(FAST, SLOW)).isNegative();
+
+    for (int i = 0; i < 5; i++) {
+      registry.start(FAST);
+    }
+    // fast: (10 + 1) * 10 = 110
+    assertThat(registry.compareLoad(FAST, SLOW)).isPositive();
+  }
+
+  @Test
+  void leastLoadedStrategy_avoidsSlowUpstream() {
+    registry.start(FAST).finish(1_000);
+    registry.start(SLOW).finish(1_000_000);
+    LoadBalancing loadBalancing = new LoadBalancing();
+    loadBalancing.setServers(List.of(new Server(FAST, 1.0), new Server(SLOW, 1.0)));
+    loadBalancing.setStrategy(LoadBalancingStrategy.LEAST_LOADED);
+    UpstreamLoadBalancer balancer = balancer(1.25);
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(balancer.chooseUpstream(loadBalancing, null)).isEqualTo(FAST);
+    }
+    assertThat(loadBalancing.getAliasTable()).isSameAs(loadBalancing.getAliasTable());
+  }
+
+  @Test
+  void consistentHashStrategy_keepsKeysOnTheirUpstream() {
+    LoadBalancing loadBalancing = consistentHash();
+    UpstreamLoadBalancer balancer = balancer(1.25);
+
+    for (int i = 0; i < 100; i++) {
+      String upstream = balancer.chooseUpstream(loadBalancing, "consumer-" + i);
+      assertThat(balancer.chooseUpstream(loadBalancing, "consumer-" + i)).isEqualTo(upstream);
+    }
+    assertThat(loadBalancing.getHashRing()).isSameAs(loadBalancing.getHashRing());
+  }
+
+  @Test
+  void consistentHashStrategy_movesKeyOffOverloadedUpstream() {
+    LoadBalancing loadBalancing = consistentHash();
+    String upstream = balancer(0).chooseUpstream(loadBalancing, "consumer");
+    for (int i = 0; i < 10; i++) {
+      registry.start(upstream);
+    }
+
+    // 10 outstanding, not below 1.25 * 11 * 0.5 rounded up
+    assertThat(balancer(1.25).chooseUpstream(loadBalancing, "consumer")).isNotEqualTo(upstream);
+    assertThat(balancer(0).chooseUpstream(loadBalancing, "consumer")).isEqualTo(upstream);
+  }
+
+  @Test
+  void start_beyondMaxUpstreams_dropsIdleUpstreams() {
+    registry.start("http://a.local");
+    registry.start("http://b.local").finish(1);
+    registry.start("http://c.local");
+
+    registry.start("http://d.local");
+
+    assertThat(registry.size()).isEqualTo(3);
+    assertThat(registry.get("http://b.local")).isNull();
+    assertThat(registry.get("http://d.local")).isNotNull();
+  }
+
+  @Test
+  void start_beyondMaxUpstreamsWithoutIdle_doesNotTrack() {
+    registry.start("http://a.local");
+    registry.start("http://b.local");
+    registry.start("http://c.local");
+
+    UpstreamLoad untracked = registry.start("http://d.local");
+    untracked.finish(1);
+
+    assertThat(registry.size()).isEqualTo(3);
+    assertThat(registry.get("http://d.local")).isNull();
+  }
+
+  @Test
+  void concurrentRequests_leaveNoOutstandingRequests() throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    IntStream.range(0, 10_000)
+        .forEach(i -> executor.execute(() -> registry.start(FAST).finish(i)));
+    executor.shutdown();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(registry.get(FAST).getOutstanding()).isZero();
+    assertThat(registry.get(FAST).getLatencyNanos()).isPositive();
+  }
+
+  private LoadBalancing consistentHash() {
+    LoadBalancing loadBalancing = new LoadBalancing();
+    loadBalancing.setServers(List.of(new Server(FAST, 1.0), new Server(SLOW, 1.0)));
+    loadBalancing.setStrategy(LoadBalancingStrategy.CONSISTENT_HASH);
+    return loadBalancing;
+  }
+
+  private UpstreamLoadBalancer balancer(double hashLoadFactor) {
+    return new UpstreamLoadBalancer(
+        registry,
+        new UpstreamOutlierDetector(
+            false,
+            5,
+            50,
+            20,
+            Duration.ofSeconds(10),
+            Duration.ofSeconds(30),
+            Duration.ofSeconds(300),
+            Duration.ofSeconds(30),
+            3,
+            new SimpleMeterRegistry()),
+        hashLoadFactor);
+  }
+}
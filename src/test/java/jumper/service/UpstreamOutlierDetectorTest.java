@@ -0,0 +1,174 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import jumper.model.config.Server;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UpstreamOutlierDetectorTest {
+
+  private static final String FAILING = "http://failing.local";
+  private static final String HEALTHY = "http://healthy.local";
+  private static final List<Server> SERVERS =
+      List.of(new Server(FAILING, 1.0), new Server(HEALTHY, 1.0));
+
+  private SimpleMeterRegistry meterRegistry;
+  private UpstreamOutlierDetector detector;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    detector = detector(Duration.ofMillis(200), Duration.ofSeconds(10), Duration.ofMillis(400));
+  }
+
+  @Test
+  void consecutiveFailures_ejectUpstream() {
+    for (int i = 0; i < 3; i++) {
+      detector.record(FAILING, false);
+    }
+
+    assertThat(detector.isEjected(FAILING)).isTrue();
+    assertThat(detector.availableServers(SERVERS))
+        .extracting(Server::getUpstream)
+        .containsExactly(HEALTHY);
+    assertThat(ejections("consecutive_failures")).isEqualTo(1);
+    assertThat(meterRegistry.get(UpstreamOutlierDetector.EJECTED_METRIC).gauge().value())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void interleavedSuccess_resetsConsecutiveFailures() {
+    for (int i = 0; i < 10; i++) {
+      detector.record(FAILING, false);
+      detector.record(FAILING, false);
+      detector.record(FAILING, true);
+    }
+
+    assertThat(detector.isEjected(FAILING)).isFalse();
+    assertThat(detector.availableServers(SERVERS)).isSameAs(SERVERS);
+  }
+
+  @Test
+  void errorRate_ejectsUpstreamAfterInterval() {
+    detector =
+        detector(Duration.ofMillis(200), Duration.ofSeconds(10), Duration.ofMillis(400), 100);
+    for (int i = 0; i < 10; i++) {
+      detector.record(FAILING, false);
+      detector.record(FAILING, true);
+    }
+    assertThat(detector.isEjected(FAILING)).isFalse();
+
+    await()
+        .atMost(Duration.ofSeconds(2))
+        .untilAsserted(
+            () -> {
+              detector.record(FAILING, false);
+              assertThat(detector.isEjected(FAILING)).isTrue();
+            });
+    assertThat(ejections("error_rate")).isEqualTo(1);
+  }
+
+  @Test
+  void repeatedEjection_doublesEjectionTime() {
+    ejectFailing();
+    await().atMost(Duration.ofSeconds(2)).until(() -> !detector.isEjected(FAILING));
+
+    ejectFailing();
+    long reEjectedAt = System.nanoTime();
+    await().atMost(Duration.ofSeconds(2)).until(() -> !detector.isEjected(FAILING));
+
+    assertThat(Duration.ofNanos(System.nanoTime() - reEjectedAt))
+        .isGreaterThanOrEqualTo(Duration.ofMillis(400));
+  }
+
+  @Test
+  void returningUpstream_getsSlowStartWeight() {
+    ejectFailing();
+    await().atMost(Duration.ofSeconds(2)).until(() -> !detector.isEjected(FAILING));
+
+    List<Server> available = detector.availableServers(SERVERS);
+    assertThat(available).hasSize(2);
+    assertThat(available.get(0).getWeight()).isLessThan(1.0);
+    assertThat(available.get(1)).isSameAs(SERVERS.get(1));
+
+    await()
+        .atMost(Duration.ofSeconds(2))
+        .untilAsserted(() -> assertThat(detector.availableServers(SERVERS)).isSameAs(SERVERS));
+  }
+
+  @Test
+  void allServersEjected_ignoresEjection() {
+    ejectFailing();
+    for (int i = 0; i < 3; i++) {
+      detector.record(HEALTHY, false);
+    }
+
+    assertThat(detector.availableServers(SERVERS)).isSameAs(SERVERS);
+  }
+
+  @Test
+  void disabled_neverEjects() {
+    detector =
+        new UpstreamOutlierDetector(
+            false,
+            3,
+            50,
+            10,
+            Duration.ofSeconds(10),
+            Duration.ofMillis(200),
+            Duration.ofSeconds(10),
+            Duration.ofMillis(400),
+            100,
+            meterRegistry);
+    ejectFailing();
+
+    assertThat(detector.isEjected(FAILING)).isFalse();
+    assertThat(detector.availableServers(SERVERS)).isSameAs(SERVERS);
+  }
+
+  private void ejectFailing() {
+    for (int i = 0; i < 3; i++) {
+      detector.record(FAILING, false);
+    }
+  }
+
+  private UpstreamOutlierDetector detector(
+      Duration baseEjectionTime, Duration maxEjectionTime, Duration slowStart) {
+    return detector(baseEjectionTime, maxEjectionTime, slowStart, 3);
+  }
+
+  private UpstreamOutlierDetector detector(
+      Duration baseEjectionTime,
+      Duration maxEjectionTime,
+      Duration slowStart,
+      int consecutiveFailures) {
+    return new UpstreamOutlierDetector(
+        true,
+        consecutiveFailures,
+        50,
+        10,
+        Duration.ofMillis(100),
+        baseEjectionTime,
+        maxEjectionTime,
+        slowStart,
+        100,
+        meterRegistry);
+  }
+
+  private double ejections(String reason) {
+    return meterRegistry
+        .get(UpstreamOutlierDetector.EJECTIONS_METRIC)
+        .tag("reason", reason)
+        .counter()
+        .count();
+  }
+}
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.*;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import jumper.config.WarmupProperties;
 import jumper.health.WarmupHealthIndicator;
 import org.junit.jupiter.api.Test;
@@ -26,7 +27,7 @@ class WarmupServiceTest {
     // With empty domains, the health indicator should already be ready
     assertThat(healthIndicator.isReady()).isTrue();
 
-    WarmupService service = new WarmupService(properties, healthIndicator);
+    WarmupService service = new WarmupService(properties, healthIndicator, Optional.empty());
     // Should not throw, just log and return
     service.onApplicationReady();
 
@@ -43,7 +44,7 @@ class WarmupServiceTest {
 
     WarmupHealthIndicator healthIndicator = mock(WarmupHealthIndicator.class);
 
-    WarmupService service = new WarmupService(properties, healthIndicator);
+    WarmupService service = new WarmupService(properties, healthIndicator, Optional.empty());
     service.onApplicationReady();
 
     // Wait for async warmup to complete (timeout + buffer)
@@ -53,6 +54,22 @@ class WarmupServiceTest {
     verify(healthIndicator, atLeastOnce()).setReady();
   }
 
+  @Test
+  void onApplicationReady_restoresTokenCacheSnapshot() {
+    WarmupProperties properties = new WarmupProperties();
+    properties.setEnabled(true);
+    properties.setTimeout(Duration.ofSeconds(15));
+    properties.setUrls(List.of());
+    TokenCacheSnapshotService snapshotService = mock(TokenCacheSnapshotService.class);
+
+    WarmupService service =
+        new WarmupService(
+            properties, new WarmupHealthIndicator(properties), Optional.of(snapshotService));
+    service.onApplicationReady();
+
+    verify(snapshotService).restoreSnapshot();
+  }
+
   @Test
   void healthIndicator_startsDown_withUrls() {
     WarmupProperties properties = new WarmupProperties();
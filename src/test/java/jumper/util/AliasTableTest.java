@@ -0,0 +1,100 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import jumper.exception.LoadBalancingException;
+import jumper.model.config.Server;
+import org.junit.jupiter.api.Test;
+
+class AliasTableTest {
+
+  private static final int ITERATIONS = 100_000;
+
+  @Test
+  void pick_followsWeights() {
+    List<Server> servers =
+        List.of(
+            new Server("http://upstream1.com", 1.0),
+            new Server("http://upstream2.com", 2.0),
+            new Server("http://upstream3.com", 7.0));
+    AliasTable aliasTable = AliasTable.of(servers);
+
+    int[] picks = new int[aliasTable.size()];
+    for (int i = 0; i < ITERATIONS; i++) {
+      picks[aliasTable.pick(ThreadLocalRandom.current())]++;
+    }
+
+    assertThat(picks[0] / (double) ITERATIONS).isCloseTo(0.1, within(0.01));
+    assertThat(picks[1] / (double) ITERATIONS).isCloseTo(0.2, within(0.01));
+    assertThat(picks[2] / (double) ITERATIONS).isCloseTo(0.7, within(0.01));
+  }
+
+  @Test
+  void pick_manyServersWithUnevenWeights() {
+    List<Server> servers = new ArrayList<>();
+    double total = 0;
+    for (int i = 1; i <= 100; i++) {
+      servers.add(new Server("http://upstream" + i + ".com", (double) i));
+      total += i;
+    }
+    AliasTable aliasTable = AliasTable.of(servers);
+
+    int[] picks = new int[aliasTable.size()];
+    for (int i = 0; i < ITERATIONS * 10; i++) {
+      picks[aliasTable.pick(ThreadLocalRandom.current())]++;
+    }
+
+    assertThat(picks[99] / (double) (ITERATIONS * 10)).isCloseTo(100 / total, within(0.002));
+    assertThat(picks[0] / (double) (ITERATIONS * 10)).isCloseTo(1 / total, within(0.001));
+  }
+
+  @Test
+  void of_leavesOutServersWithoutWeight() {
+    AliasTable aliasTable =
+        AliasTable.of(
+            List.of(
+                new Server("http://upstream1.com", 0.0),
+                new Server("http://upstream2.com", 3.0)));
+
+    assertThat(aliasTable.size()).isEqualTo(1);
+    for (int i = 0; i < 100; i++) {
+      assertThat(aliasTable.upstream(aliasTable.pick(ThreadLocalRandom.current())))
+          .isEqualTo("http://upstream2.com");
+    }
+  }
+
+  @Test
+  void of_allServersWeightZero() {
+    List<Server> servers =
+        List.of(new Server("http://upstream1.com", 0.0), new Server("http://upstream2.com", 0.0));
+
+    assertThatThrownBy(() -> AliasTable.of(servers)).isInstanceOf(LoadBalancingException.class);
+  }
+
+  @Test
+  void pickOther_neverReturnsExcludedServer() {
+    AliasTable aliasTable =
+        AliasTable.of(
+            List.of(
+                new Server("http://upstream1.com", 0.01),
+                new Server("http://upstream2.com", 99.99),
+                new Server("http://upstream3.com", 0.01)));
+
+    int[] picks = new int[aliasTable.size()];
+    for (int i = 0; i < ITERATIONS; i++) {
+      picks[aliasTable.pickOther(1, ThreadLocalRandom.current())]++;
+    }
+
+    assertThat(picks[1]).isZero();
+    assertThat(picks[0] / (double) ITERATIONS).isCloseTo(0.5, within(0.02));
+  }
+}
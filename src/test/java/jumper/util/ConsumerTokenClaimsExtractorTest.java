@@ -0,0 +1,105 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.stream.Stream;
+import jumper.model.ConsumerTokenClaims;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class ConsumerTokenClaimsExtractorTest {
+
+  private static final String HEADER = encode("{\"alg\":\"RS256\",\"typ\":\"JWT\"}");
+  private static final String SIGNATURE = "c2lnbmF0dXJl";
+
+  static Stream<Arguments> provideUnsupportedPayloads() {
+    long now = Instant.now().getEpochSecond();
+    return Stream.of(
+        Arguments.of("{\"clientId\":42}", "non-string clientId"),
+        Arguments.of("{\"exp\":\"" + (now + 300) + "\"}", "string exp"),
+        Arguments.of("{\"exp\":1.5e9}", "floating point exp"),
+        Arguments.of("{\"aud\":[\"a\",1]}", "non-string audience entry"),
+        Arguments.of("{\"sub\":\"a\",\"sub\":\"b\"}", "duplicate claim"),
+        Arguments.of("{\"nbf\":" + now + "}", "nbf claim"),
+        Arguments.of("{\"exp\":" + (now - 7200) + "}", "expired beyond clock skew"),
+        Arguments.of("[\"sub\"]", "non-object payload"),
+        Arguments.of("{\"sub\":", "truncated JSON"));
+  }
+
+  @Test
+  void extract_regularToken_returnsClaims() {
+    String payload =
+        """
+        {"clientId":"eni--hyperion--consumer","originZone":"aws",
+        "originStargate":"https://stargate","sub":"consumer","aud":"stargate",
+        "iat":1700000000,"exp":%d,
+        "iss":"https://iris/auth/realms/default","azp":"consumer","scope":["a","b"],
+        "nested":{"aud":"ignored"}}
+        """
+            .formatted(Instant.now().getEpochSecond() + 300);
+
+    ConsumerTokenClaims claims = ConsumerTokenClaimsExtractor.extract(token(payload));
+
+    assertThat(claims).isNotNull();
+    assertThat(claims.clientId()).isEqualTo("eni--hyperion--consumer");
+    assertThat(claims.originZone()).isEqualTo("aws");
+    assertThat(claims.originStargate()).isEqualTo("https://stargate");
+    assertThat(claims.subject()).isEqualTo("consumer");
+    assertThat(claims.audience()).containsExactly("stargate");
+    assertThat(claims.issuedAt()).isEqualTo(Instant.ofEpochSecond(1700000000L));
+    assertThat(claims.expiration()).isAfter(Instant.now());
+    assertThat(claims.issuer()).isEqualTo("https://iris/auth/realms/default");
+  }
+
+  @Test
+  void extract_audienceArray_keepsOrder() {
+    ConsumerTokenClaims claims =
+        ConsumerTokenClaimsExtractor.extract(token("{\"aud\":[\"b\",\"a\",\"c\"]}"));
+
+    assertThat(claims).isNotNull();
+    assertThat(claims.audience()).containsExactly("b", "a", "c");
+  }
+
+  @Test
+  void extract_missingAndNullClaims_areNull() {
+    ConsumerTokenClaims claims =
+        ConsumerTokenClaimsExtractor.extract(token("{\"sub\":null,\"clientId\":\"c\"}"));
+
+    assertThat(claims).isNotNull();
+    assertThat(claims.clientId()).isEqualTo("c");
+    assertThat(claims.subject()).isNull();
+    assertThat(claims.expiration()).isNull();
+    assertThat(claims.audience()).isEmpty();
+  }
+
+  @ParameterizedTest(name = "{1}")
+  @MethodSource("provideUnsupportedPayloads")
+  void extract_unsupportedPayload_returnsNull(String payload, String description) {
+    assertThat(ConsumerTokenClaimsExtractor.extract(token(payload))).isNull();
+  }
+
+  @Test
+  void extract_malformedToken_returnsNull() {
+    assertThat(ConsumerTokenClaimsExtractor.extract("no-dots")).isNull();
+    assertThat(ConsumerTokenClaimsExtractor.extract(HEADER + ".%%%." + SIGNATURE)).isNull();
+  }
+
+  private static String token(String payload) {
+    return HEADER + "." + encode(payload) + "." + SIGNATURE;
+  }
+
+  private static String encode(String json) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(json.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,97 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import jumper.exception.LoadBalancingException;
+import jumper.model.config.Server;
+import org.junit.jupiter.api.Test;
+
+class HashRingTest {
+
+  private static final int KEYS = 20_000;
+
+  @Test
+  void locate_isDeterministic() {
+    List<Server> servers = servers(5);
+
+    HashRing ring = HashRing.of(servers);
+    HashRing other = HashRing.of(new ArrayList<>(servers));
+
+    for (int i = 0; i < 1_000; i++) {
+      String key = "consumer-" + i;
+      assertThat(ring.upstream(ring.locate(key, server -> true)))
+          .isEqualTo(other.upstream(other.locate(key, server -> true)));
+    }
+  }
+
+  @Test
+  void locate_followsWeights() {
+    List<Server> servers =
+        List.of(
+            new Server("http://upstream1.com", 1.0),
+            new Server("http://upstream2.com", 3.0),
+            new Server("http://upstream3.com", 0.0));
+    HashRing ring = HashRing.of(servers);
+
+    int[] keys = new int[ring.size()];
+    for (int i = 0; i < KEYS; i++) {
+      keys[ring.locate("consumer-" + i, server -> true)]++;
+    }
+
+    assertThat(ring.size()).isEqualTo(2);
+    assertThat(ring.share(1)).isEqualTo(0.75);
+    assertThat(keys[1] / (double) KEYS).isCloseTo(0.75, within(0.05));
+  }
+
+  @Test
+  void locate_addingServer_onlyMovesKeysToIt() {
+    HashRing ring = HashRing.of(servers(4));
+    HashRing grown = HashRing.of(servers(5));
+
+    int moved = 0;
+    for (int i = 0; i < KEYS; i++) {
+      String key = "consumer-" + i;
+      String before = ring.upstream(ring.locate(key, server -> true));
+      String after = grown.upstream(grown.locate(key, server -> true));
+      if (!before.equals(after)) {
+        assertThat(after).isEqualTo("http://upstream5.com");
+        moved++;
+      }
+    }
+
+    assertThat(moved / (double) KEYS).isCloseTo(0.2, within(0.05));
+  }
+
+  @Test
+  void locate_skipsRejectedServers() {
+    HashRing ring = HashRing.of(servers(3));
+    int preferred = ring.locate("consumer", server -> true);
+
+    int next = ring.locate("consumer", server -> server != preferred);
+
+    assertThat(next).isNotEqualTo(preferred);
+    assertThat(ring.locate("consumer", server -> false)).isEqualTo(preferred);
+  }
+
+  @Test
+  void of_withoutWeight_throws() {
+    assertThatThrownBy(() -> HashRing.of(List.of(new Server("http://upstream1.com", 0.0))))
+        .isInstanceOf(LoadBalancingException.class);
+  }
+
+  private static List<Server> servers(int count) {
+    List<Server> servers = new ArrayList<>();
+    for (int i = 1; i <= count; i++) {
+      servers.add(new Server("http://upstream" + i + ".com", 1.0));
+    }
+    return servers;
+  }
+}
@@ -0,0 +1,163 @@
+// SPDX-FileCopyrightText: 2026 Deutsche Telekom AG
+//
+// SPDX-License-Identifier: Apache-2.0
+
+package jumper.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import jumper.model.config.HashKey;
+import jumper.model.config.JumperConfig;
+import jumper.model.config.LoadBalancing;
+import jumper.model.config.LoadBalancingStrategy;
+import jumper.model.config.OauthCredentials;
+import jumper.model.config.Server;
+import jumper.model.config.UpstreamProtocol;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+class JumperConfigDecoderTest {
+
+  @BeforeAll
+  static void initObjectMapper() {
+    new ObjectMapperUtil(JsonMapper.builder().build());
+  }
+
+  @Test
+  void decodeJumperConfig_roundTripsEncodedConfig() {
+    // arrange
+    JumperConfig jc = jumperConfig("http://upstream.local", 3);
+
+    // act
+    JumperConfig decoded = JumperConfigDecoder.decodeJumperConfig(JumperConfig.toJsonBase64(jc));
+
+    // assert
+    assertThat(decoded.getRemoteApiUrl()).isEqualTo("http://upstream.local");
+    assertThat(decoded.getOauth()).hasSize(3);
+    assertThat(decoded.getOauth().get("consumer-1").getClientId()).isEqualTo("client-1");
+    assertThat(decoded.getLoadBalancing().getServers()).hasSize(2);
+  }
+
+  @Test
+  void decodeJumperConfig_readsLoadBalancingStrategy() {
+    // arrange
+    String json =
+        "{\"loadBalancing\":{\"strategy\":\"leastLoaded\",\"servers\":"
+            + "[{\"upstream\":\"http://lb1.local\",\"weight\":1.0}]}}";
+
+    // act
+    JumperConfig decoded =
+        JumperConfigDecoder.decodeJumperConfig(
+            Base64.getEncoder().encodeToString(json.getBytes()));
+
+    // assert
+    assertThat(decoded.getLoadBalancing().getStrategy())
+        .isEqualTo(LoadBalancingStrategy.LEAST_LOADED);
+    assertThat(jumperConfig("http://upstream.local", 1).getLoadBalancing().getStrategy())
+        .isEqualTo(LoadBalancingStrategy.RANDOM);
+  }
+
+  @Test
+  void decodeJumperConfig_readsConsistentHashKey() {
+    // arrange
+    String json =
+        "{\"loadBalancing\":{\"strategy\":\"consistentHash\","
+            + "\"hashKey\":{\"source\":\"header\",\"header\":\"X-Tenant\"},\"servers\":"
+            + "[{\"upstream\":\"http://lb1.local\",\"weight\":1.0}]}}";
+
+    // act
+    JumperConfig decoded =
+        JumperConfigDecoder.decodeJumperConfig(
+            Base64.getEncoder().encodeToString(json.getBytes()));
+
+    // assert
+    assertThat(decoded.getLoadBalancing().getStrategy())
+        .isEqualTo(LoadBalancingStrategy.CONSISTENT_HASH);
+    assertThat(decoded.getLoadBalancing().getHashKey().getSource())
+        .isEqualTo(HashKey.Source.HEADER);
+    assertThat(decoded.getLoadBalancing().getHashKey().getHeader()).isEqualTo("X-Tenant");
+  }
+
+  @Test
+  void decodeJumperConfig_readsUpstreamProtocol() {
+    // arrange
+    String json = "{\"remoteApiUrl\":\"https://upstream.local\",\"upstreamProtocol\":\"h2\"}";
+
+    // act
+    JumperConfig decoded =
+        JumperConfigDecoder.decodeJumperConfig(
+            Base64.getEncoder().encodeToString(json.getBytes()));
+
+    // assert
+    assertThat(decoded.getUpstreamProtocol()).isEqualTo(UpstreamProtocol.H2);
+    assertThat(jumperConfig("http://upstream.local", 1).getUpstreamProtocol()).isNull();
+  }
+
+  @Test
+  void decodeRoutingConfig_handlesLargeFailoverLists() {
+    // arrange
+    List<JumperConfig> routingConfig = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      JumperConfig jc = jumperConfig("http://upstream" + i + ".local", 10);
+      jc.setTargetZoneName("zone-" + i);
+      routingConfig.add(jc);
+    }
+    String header = JumperConfig.toJsonBase64(routingConfig);
+
+    // act
+    List<JumperConfig> decoded = JumperConfigDecoder.decodeRoutingConfig(header);
+
+    // assert
+    assertThat(header.length()).isGreaterThan(8 * 1024);
+    assertThat(decoded).hasSize(20);
+    assertThat(decoded.get(19).getTargetZoneName()).isEqualTo("zone-19");
+    assertThat(decoded.get(19).getRemoteApiUrl()).isEqualTo("http://upstream19.local");
+  }
+
+  @Test
+  void fromJsonBase64_rejectsNonAsciiCharacters() {
+    // arrange: Ł would truncate to 'A' if the chars were blindly narrowed to bytes
+    String header = JumperConfig.toJsonBase64(jumperConfig("http://upstream.local", 1));
+    String corrupted = "Ł" + header.substring(1);
+
+    // act & assert
+    assertThrows(RuntimeException.class, () -> JumperConfig.fromJsonBase64(corrupted));
+  }
+
+  @Test
+  void fromJsonBase64_rejectsInvalidJson() {
+    // arrange
+    String header = Base64.getEncoder().encodeToString("{not json".getBytes());
+
+    // act & assert
+    assertThrows(RuntimeException.class, () -> JumperConfig.fromJsonBase64(header));
+  }
+
+  private static JumperConfig jumperConfig(String remoteApiUrl, int oauthConsumers) {
+    JumperConfig jc = new JumperConfig();
+    jc.setRemoteApiUrl(remoteApiUrl);
+    jc.setApiBasePath("/eni/test/v1");
+
+    HashMap<String, OauthCredentials> oauth = new HashMap<>();
+    for (int i = 0; i < oauthConsumers; i++) {
+      OauthCredentials credentials = new OauthCredentials();
+      credentials.setClientId("client-" + i);
+      credentials.setClientSecret("secret-" + i);
+      credentials.setScopes("scope-" + i);
+      oauth.put("consumer-" + i, credentials);
+    }
+    jc.setOauth(oauth);
+
+    LoadBalancing loadBalancing = new LoadBalancing();
+    loadBalancing.setServers(
+        List.of(new Server("http://lb1.local", 1.0), new Server("http://lb2.local", 2.0)));
+    jc.setLoadBalancing(loadBalancing);
+    return jc;
+  }
+}
@@ -7,6 +7,7 @@ package jumper.util;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -194,4 +195,70 @@ class LoadBalancingUtilTest {
         distribution.getOrDefault("http://upstream1.com", 0) < 100,
         "Server1 with weight 0.01 should be selected ~0.01%");
   }
+
+  @Test
+  void calculateLeastLoadedUpstream_picksLessLoadedOfTwo() {
+    Server server1 = new Server("http://upstream1.com", 1.0);
+    Server server2 = new Server("http://upstream2.com", 1.0);
+    List<Server> servers = Arrays.asList(server1, server2);
+    Comparator<String> upstream2Loaded =
+        Comparator.comparing(upstream -> upstream.equals("http://upstream2.com"));
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals(
+          "http://upstream1.com",
+          LoadBalancingUtil.calculateLeastLoadedUpstream(servers, upstream2Loaded),
+          "Both servers are candidates, the less loaded one should always be selected");
+    }
+  }
+
+  @Test
+  void calculateLeastLoadedUpstream_respectsWeights() {
+    Server server1 = new Server("http://upstream1.com", 1.0);
+    Server server2 = new Server("http://upstream2.com", 1.0);
+    Server server3 = new Server("http://upstream3.com", 98.0);
+    List<Server> servers = Arrays.asList(server1, server2, server3);
+    Comparator<String> upstream3Loaded =
+        Comparator.comparing(upstream -> upstream.equals("http://upstream3.com"));
+
+    Map<String, Integer> distribution = new HashMap<>();
+    int iterations = 1000;
+
+    for (int i = 0; i < iterations; i++) {
+      distribution.merge(
+          LoadBalancingUtil.calculateLeastLoadedUpstream(servers, upstream3Loaded),
+          1,
+          Integer::sum);
+    }
+
+    // server3 is a candidate in nearly every pick, but the two candidates always differ
+    assertFalse(distribution.containsKey("http://upstream3.com"));
+    assertTrue(distribution.get("http://upstream1.com") > 300);
+    assertTrue(distribution.get("http://upstream2.com") > 300);
+  }
+
+  @Test
+  void calculateLeastLoadedUpstream_singleWeightedServer() {
+    Server server1 = new Server("http://upstream1.com", 0.0);
+    Server server2 = new Server("http://upstream2.com", 5.0);
+    List<Server> servers = Arrays.asList(server1, server2);
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals(
+          "http://upstream2.com",
+          LoadBalancingUtil.calculateLeastLoadedUpstream(servers, Comparator.reverseOrder()),
+          "A server with weight 0 should never be a candidate");
+    }
+  }
+
+  @Test
+  void calculateLeastLoadedUpstream_allServersWeightZero() {
+    List<Server> servers =
+        Arrays.asList(
+            new Server("http://upstream1.com", 0.0), new Server("http://upstream2.com", 0.0));
+
+    assertThrows(
+        LoadBalancingException.class,
+        () -> LoadBalancingUtil.calculateLeastLoadedUpstream(servers, Comparator.naturalOrder()));
+  }
 }
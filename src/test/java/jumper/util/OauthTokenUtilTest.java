@@ -10,12 +10,15 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Base64;
 import java.util.Date;
 import java.util.stream.Stream;
+import jumper.model.ConsumerTokenClaims;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -200,6 +203,81 @@ public class OauthTokenUtilTest {
     }
   }
 
+  // ---------------------------------------------------------------------------
+  // Tests for getConsumerTokenClaims
+  // ---------------------------------------------------------------------------
+
+  @Nested
+  class getConsumerTokenClaimsTests {
+
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("jumper.util.OauthTokenUtilTest#provideValidTestTokens")
+    @DisplayName("Should return the claims of a valid Bearer-prefixed JWT token")
+    public void testGetConsumerTokenClaims_validToken_returnsClaims(
+        String token, String description) {
+      ConsumerTokenClaims claims = getConsumerTokenClaims(token);
+
+      assertThat(claims.subject()).isEqualTo(CLAIM_SUB_VALUE);
+      assertThat(claims.issuer()).isEqualTo(CLAIM_ISS_VALUE);
+      assertThat(claims.expiration()).isAfter(Instant.now());
+    }
+
+    @Test
+    @DisplayName("Should parse a token once and share the claims")
+    public void testGetConsumerTokenClaims_sameToken_returnsCachedClaims() {
+      String token = getTestToken(true);
+
+      ConsumerTokenClaims claims = getConsumerTokenClaims(token);
+
+      assertThat(getConsumerTokenClaims(token)).isSameAs(claims);
+      assertThat(getConsumerTokenClaims("  " + token + " ")).isSameAs(claims);
+    }
+
+    @Test
+    @DisplayName("Should not return cached claims for a different token with the same signature")
+    public void testGetConsumerTokenClaims_forgedPayload_isParsedSeparately() {
+      String token = getTestToken(true);
+      String signature = token.substring(token.lastIndexOf('.'));
+      String forgedPayload =
+          Base64.getUrlEncoder()
+              .withoutPadding()
+              .encodeToString("{\"sub\":\"forged\"}".getBytes(StandardCharsets.UTF_8));
+      String forgedToken = token.substring(0, token.indexOf('.') + 1) + forgedPayload + signature;
+
+      assertThat(getConsumerTokenClaims(token).subject()).isEqualTo(CLAIM_SUB_VALUE);
+      assertThat(getConsumerTokenClaims(forgedToken).subject()).isEqualTo("forged");
+      assertThat(getConsumerTokenClaims(token).subject()).isEqualTo(CLAIM_SUB_VALUE);
+    }
+
+    @Test
+    @DisplayName("Should fall back to jjwt for claims the extractor does not support")
+    public void testGetConsumerTokenClaims_unsupportedClaimType_usesJjwt() {
+      String token =
+          "Bearer "
+              + Jwts.builder()
+                  .subject(CLAIM_SUB_VALUE)
+                  .claim("iat", "1700000000")
+                  .signWith(
+                      Keys.hmacShaKeyFor(
+                          Base64.getDecoder()
+                              .decode("Yn2kjibddFAWtnPJ2AFlL8WXmohJMCvigQggaEypa5E=")))
+                  .compact();
+
+      ConsumerTokenClaims claims = getConsumerTokenClaims(token);
+
+      assertThat(claims.subject()).isEqualTo(CLAIM_SUB_VALUE);
+      assertThat(claims.issuedAt()).isEqualTo(Instant.ofEpochSecond(1700000000L));
+    }
+
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("jumper.util.OauthTokenUtilTest#provideInvalidBearerTokens")
+    @DisplayName("Should throw IllegalArgumentException for")
+    public void testGetConsumerTokenClaims_invalidToken_throwsException(
+        String token, String description) {
+      assertThrows(IllegalArgumentException.class, () -> getConsumerTokenClaims(token));
+    }
+  }
+
   // ---------------------------------------------------------------------------
   // Token factory helpers
   // ---------------------------------------------------------------------------